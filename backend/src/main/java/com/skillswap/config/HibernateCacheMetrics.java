@@ -0,0 +1,47 @@
+package com.skillswap.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// hibernate-micrometer only reports second-level cache totals; this adds hit/miss/put counts per region
+// (hibernate.cache.region.requests{region,result}, hibernate.cache.region.puts{region}) so each region's
+// size and TTL in application.conf can be tuned on its own numbers.
+@Component
+public class HibernateCacheMetrics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void init() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) return;
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            register("hibernate.cache.region.requests", region, "hit", statistics, CacheRegionStatistics::getHitCount);
+            register("hibernate.cache.region.requests", region, "miss", statistics, CacheRegionStatistics::getMissCount);
+            register("hibernate.cache.region.puts", region, null, statistics, CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private void register(String name, String region, String result, Statistics statistics,
+                          ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(name, statistics, s -> {
+            CacheRegionStatistics r = s.getCacheRegionStatistics(region);
+            return r == null ? 0 : count.applyAsDouble(r);
+        }).tag("region", region);
+        if (result != null) builder.tag("result", result);
+        builder.register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.skillswap.config;
+
+import com.skillswap.repository.SkillSynonymRepository;
+import com.skillswap.service.SkillDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Order(11)
+public class SkillSynonymSeeder implements CommandLineRunner {
+
+    @Autowired
+    private SkillSynonymRepository skillSynonymRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Override
+    public void run(String... args) {
+        if (skillSynonymRepository.count() > 0) return;
+        Map<String, String> s = new LinkedHashMap<>();
+        s.put("JS", "JavaScript");
+        s.put("ECMAScript", "JavaScript");
+        s.put("TS", "TypeScript");
+        s.put("Py", "Python");
+        s.put("Python3", "Python");
+        s.put("Golang", "Go");
+        s.put("ReactJS", "React");
+        s.put("React.js", "React");
+        s.put("NodeJS", "Node.js");
+        s.put("Node", "Node.js");
+        s.put("Postgres", "PostgreSQL");
+        s.put("K8s", "Kubernetes");
+        s.put("CPP", "C++");
+        s.put("C Sharp", "C#");
+        s.put("ML", "Machine Learning");
+        s.put("Amazon Web Services", "AWS");
+        skillDictionary.addSynonyms(s);
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillswap.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -14,9 +15,39 @@ import org.springframework.messaging.simp.config.ChannelRegistration;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired(required = false)
     private com.skillswap.security.WebSocketAuthChannelInterceptor authChannelInterceptor;
+
+    // "simple" keeps the in-process broker (single node); "relay" forwards /topic and /queue to an external
+    // STOMP broker (ActiveMQ/Artemis/RabbitMQ) so every backend instance sees every message
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+    @Value("${websocket.broker.host:localhost}")
+    private String relayHost;
+    @Value("${websocket.broker.port:61613}")
+    private int relayPort;
+    @Value("${websocket.broker.login:guest}")
+    private String relayLogin;
+    @Value("${websocket.broker.passcode:guest}")
+    private String relayPasscode;
+    @Value("${websocket.broker.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // Sessions on other nodes: unresolved user messages and the user registry are shared via the broker
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!relayVirtualHost.isBlank()) relay.setVirtualHost(relayVirtualHost);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -7,6 +7,7 @@ import com.skillswap.error.RateLimitException;
 import com.skillswap.repository.AiChatMessageRepository;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.service.ai.AiAssistantService;
+import com.skillswap.security.CurrentUser;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,12 +16,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
@@ -39,10 +39,10 @@ public class AiController {
 
     @PostMapping("/ask")
     public ResponseEntity<AiChatMessageDTO> ask(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @Valid @RequestBody AiAskRequest req
     ) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.getReferenceById(meId);
         try {
             AiChatMessageDTO dto = aiService.ask(me, req.question(), req.skill());
             return ResponseEntity.ok(dto);
@@ -53,28 +53,26 @@ public class AiController {
 
     @GetMapping("/history")
     public ResponseEntity<List<AiChatMessageDTO>> history(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
         if (size > 50) size = 50;
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<com.skillswap.entity.AiChatMessage> p = repo.findByUserId(me.getId(), pageable);
+        Page<com.skillswap.entity.AiChatMessage> p = repo.findByUserId(meId, pageable);
         List<AiChatMessageDTO> list = p.getContent().stream().map(aiService::toDto).collect(Collectors.toList());
         return ResponseEntity.ok(list);
     }
 
     @DeleteMapping("/history")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void clearHistory(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public void clearHistory(@CurrentUser UUID meId) {
         // Soft clear: delete all user's messages
-        var page = repo.findByUserId(me.getId(), PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt")));
+        var page = repo.findByUserId(meId, PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt")));
         while (!page.isEmpty()) {
             repo.deleteAll(page.getContent());
             if (!page.hasNext()) break;
-            page = repo.findByUserId(me.getId(), page.nextPageable());
+            page = repo.findByUserId(meId, page.nextPageable());
         }
     }
 }
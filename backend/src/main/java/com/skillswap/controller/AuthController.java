@@ -5,18 +5,25 @@ import com.skillswap.entity.User;
 import com.skillswap.entity.UserSkills;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.security.AuthenticatedUser;
+import com.skillswap.security.CustomUserDetailsService;
 import com.skillswap.security.JwtUtil;
+import com.skillswap.security.TokenVersionService;
+import com.skillswap.service.LeaderboardService;
+import com.skillswap.service.SkillDictionary;
+import com.skillswap.service.SkillIndex;
+import com.skillswap.service.matching.WeeklyAvailability;
 import com.skillswap.service.TotpService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.List;
 import jakarta.validation.Valid;
 import jakarta.servlet.http.HttpServletResponse;
@@ -39,9 +46,24 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     @Autowired
     private TotpService totpService;
 
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @Autowired(required = false)
     private ClientRegistrationRepository clientRegistrationRepository;
 
@@ -63,8 +85,10 @@ public class AuthController {
         skills.setSkillsOffered("[]");
         skills.setSkillsWanted("[]");
         userSkillsRepository.save(skills);
+        skillIndex.update(user.getId(), List.of(), List.of());
+        leaderboardService.userAdded(user);
 
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
         ResponseCookie cookie = ResponseCookie.from("SS_TOKEN", token)
                 .httpOnly(true)
                 .secure(false)
@@ -93,8 +117,8 @@ public class AuthController {
             }
         }
 
-        UserSkills skills = userSkillsRepository.findByUserId(user.getId()).orElseThrow();
-        String token = jwtUtil.generateToken(user.getEmail());
+        UserSkills skills = userSkillsRepository.findByUserIdWithSkillIds(user.getId()).orElseThrow();
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
         ResponseCookie cookie = ResponseCookie.from("SS_TOKEN", token)
                 .httpOnly(true)
                 .secure(false)
@@ -107,8 +131,10 @@ public class AuthController {
                 .body(new LoginResponse(token, mapToDTO(user, skills)));
     }
 
+    // Also revokes every token issued to the user, so a copied token stops working too
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
+    public ResponseEntity<?> logout(@AuthenticationPrincipal AuthenticatedUser principal, HttpServletResponse response) {
+        if (principal != null) tokenVersionService.revoke(principal.id());
         ResponseCookie cookie = ResponseCookie.from("SS_TOKEN", "")
                 .httpOnly(true)
                 .secure(false)
@@ -136,7 +162,7 @@ public class AuthController {
             }
         }
 
-        if (token != null && jwtUtil.validateToken(token)) {
+        if (token != null && userDetailsService.loadUserByToken(token) != null) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.status(401).body("Invalid or expired token");
@@ -158,17 +184,13 @@ public class AuthController {
         return new UserProfileDTO(
                 user.getId(), user.getName(), user.getEmail(), user.getBio(),
                 user.getProfilePictureUrl(),
-                parseSkills(skills.getSkillsOffered()),
-                parseSkills(skills.getSkillsWanted()),
+                skillDictionary.names(skills.getOfferedSkillIds()),
+                skillDictionary.names(skills.getWantedSkillIds()),
                 skills.getAvailability(), skills.getRating(),
-                user.getPoints(), user.getLevel(), skills.getCompletedSessions()
+                user.getPoints(), user.getLevel(), skills.getCompletedSessions(),
+                WeeklyAvailability.toSlots(WeeklyAvailability.fromBytes(skills.getAvailabilityMask()),
+                        WeeklyAvailability.zoneOf(user.getTimezone())),
+                user.getTimezone()
         );
     }
-
-    private List<String> parseSkills(String json) {
-        if (json == null || json.isEmpty() || json.equals("[]")) return List.of();
-        return Arrays.stream(json.replace("[", "").replace("]", "").replace("\"", "").split(","))
-                .map(String::trim).filter(s -> !s.isEmpty()).toList();
-    }
 }
-
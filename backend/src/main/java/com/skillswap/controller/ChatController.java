@@ -1,16 +1,16 @@
 package com.skillswap.controller;
 
 import com.skillswap.dto.ConversationDTO;
+import com.skillswap.dto.CursorPageDTO;
 import com.skillswap.dto.MessageDTO;
-import com.skillswap.entity.User;
-import com.skillswap.repository.UserRepository;
+import com.skillswap.dto.MessageSearchHitDTO;
 import com.skillswap.service.ChatService;
+import com.skillswap.service.MessageSearchService;
+import com.skillswap.security.CurrentUser;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,47 +21,60 @@ import java.util.UUID;
 public class ChatController {
 
     @Autowired private ChatService chatService;
-    @Autowired private UserRepository userRepository;
+    @Autowired private MessageSearchService messageSearchService;
 
     @PostMapping("/start/{otherId}")
-    public ResponseEntity<ConversationDTO> start(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID otherId) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(chatService.startOrGet(me.getId(), otherId));
+    public ResponseEntity<ConversationDTO> start(@CurrentUser UUID meId, @PathVariable UUID otherId) {
+        return ResponseEntity.ok(chatService.startOrGet(meId, otherId));
     }
 
     @GetMapping("/conversations")
-    public ResponseEntity<List<ConversationDTO>> conversations(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(chatService.listForUser(me.getId()));
+    public ResponseEntity<List<ConversationDTO>> conversations(@CurrentUser UUID meId) {
+        return ResponseEntity.ok(chatService.listForUser(meId));
     }
 
     @GetMapping("/{conversationId}/messages")
-    public ResponseEntity<Page<MessageDTO>> messages(@PathVariable UUID conversationId,
-                                                     @RequestParam(defaultValue = "0") int page,
-                                                     @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(chatService.messages(conversationId, page, size));
+    public ResponseEntity<Slice<MessageDTO>> messages(@CurrentUser UUID meId,
+                                                      @PathVariable UUID conversationId,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(chatService.messages(conversationId, meId, page, size));
+    }
+
+    @GetMapping("/{conversationId}/messages/history")
+    public ResponseEntity<CursorPageDTO<MessageDTO>> history(@CurrentUser UUID meId,
+                                                             @PathVariable UUID conversationId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(chatService.history(conversationId, meId, cursor, size));
+    }
+
+    // Searches the caller's direct and group messages together
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<MessageSearchHitDTO>> search(@CurrentUser UUID meId,
+                                                                     @RequestParam String q,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageSearchService.search(meId, q, cursor, size));
     }
 
     public record SendRequest(@NotBlank String text) {}
 
     @PostMapping("/{conversationId}/send")
-    public ResponseEntity<MessageDTO> send(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<MessageDTO> send(@CurrentUser UUID meId,
                                            @PathVariable UUID conversationId,
                                            @RequestBody SendRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(chatService.send(conversationId, me.getId(), req.text()));
+        return ResponseEntity.ok(chatService.send(conversationId, meId, req.text()));
     }
 
     @PutMapping("/{conversationId}/read")
-    public ResponseEntity<Void> markRead(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID conversationId) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        chatService.markRead(conversationId, me.getId());
+    public ResponseEntity<Void> markRead(@CurrentUser UUID meId, @PathVariable UUID conversationId) {
+        chatService.markRead(conversationId, meId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{conversationId}/unread")
-    public ResponseEntity<Long> unread(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID conversationId) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(chatService.unreadCount(conversationId, me.getId()));
+    public ResponseEntity<Long> unread(@CurrentUser UUID meId, @PathVariable UUID conversationId) {
+        return ResponseEntity.ok(chatService.unreadCount(conversationId, meId));
     }
 }
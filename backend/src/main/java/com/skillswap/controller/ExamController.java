@@ -3,15 +3,12 @@ package com.skillswap.controller;
 import com.skillswap.dto.QuizQuestionDTO;
 import com.skillswap.dto.SubmitQuizDTOs.*;
 import com.skillswap.entity.MockInterview;
-import com.skillswap.entity.User;
-import com.skillswap.repository.UserRepository;
 import com.skillswap.service.ExamService;
+import com.skillswap.security.CurrentUser;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
@@ -25,7 +22,6 @@ import java.util.UUID;
 public class ExamController {
 
     @Autowired private ExamService examService;
-    @Autowired private UserRepository userRepository;
 
     @GetMapping("/questions")
     public ResponseEntity<List<QuizQuestionDTO>> questions(
@@ -38,11 +34,10 @@ public class ExamController {
 
     @PostMapping("/submit")
     public ResponseEntity<SubmitQuizResponse> submit(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @Valid @RequestBody SubmitQuizRequest req
     ) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(examService.submitQuiz(me.getId(), req));
+        return ResponseEntity.ok(examService.submitQuiz(meId, req));
     }
 
     @GetMapping("/leaderboard")
@@ -52,12 +47,11 @@ public class ExamController {
 
     @GetMapping("/attempts")
     public ResponseEntity<Page<AttemptDTO>> attempts(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(examService.attempts(me.getId(), page, size));
+        return ResponseEntity.ok(examService.attempts(meId, page, size));
     }
 
     @GetMapping("/daily-challenge")
@@ -69,12 +63,11 @@ public class ExamController {
 
     @PostMapping("/mock/schedule")
     public ResponseEntity<MockInterview> scheduleMock(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @Valid @RequestBody ScheduleMockRequest req
     ) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         LocalDateTime time = LocalDateTime.parse(req.scheduledTime());
-        MockInterview mi = examService.scheduleMock(me.getId(), req.otherUserId(), req.skillTopic(), req.interviewType(), time);
+        MockInterview mi = examService.scheduleMock(meId, req.otherUserId(), req.skillTopic(), req.interviewType(), time);
         return ResponseEntity.ok(mi);
     }
 
@@ -82,12 +75,11 @@ public class ExamController {
 
     @PostMapping("/mock/{id}/feedback")
     public ResponseEntity<Void> feedback(
-            @AuthenticationPrincipal UserDetails principal,
+            @CurrentUser UUID meId,
             @PathVariable UUID id,
             @Valid @RequestBody FeedbackRequest req
     ) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        examService.feedback(id, me.getId(), req.feedback());
+        examService.feedback(id, meId, req.feedback());
         return ResponseEntity.noContent().build();
     }
 }
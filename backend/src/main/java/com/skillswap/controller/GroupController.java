@@ -1,19 +1,17 @@
 package com.skillswap.controller;
 
 import com.skillswap.dto.CreateGroupRequest;
+import com.skillswap.dto.CursorPageDTO;
 import com.skillswap.dto.GroupDTO;
 import com.skillswap.dto.GroupMessageDTO;
 import com.skillswap.dto.GroupSessionDTO;
-import com.skillswap.entity.User;
-import com.skillswap.repository.UserRepository;
 import com.skillswap.service.GroupService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import com.skillswap.dto.GroupMemberDTO;
+import com.skillswap.security.CurrentUser;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
@@ -26,14 +24,12 @@ import java.time.LocalDateTime;
 public class GroupController {
 
     @Autowired private GroupService groupService;
-    @Autowired private UserRepository userRepository;
     @Autowired(required = false) private SimpMessagingTemplate messagingTemplate;
 
     @PostMapping
-    public ResponseEntity<GroupDTO> create(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<GroupDTO> create(@CurrentUser UUID meId,
                                            @Valid @RequestBody CreateGroupRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        GroupDTO dto = groupService.create(me.getId(), req.name(), req.description(), req.relatedSkill(),
+        GroupDTO dto = groupService.create(meId, req.name(), req.description(), req.relatedSkill(),
                 req.maxMembers() == null ? 10 : req.maxMembers(),
                 req.isPrivate() != null && req.isPrivate());
         return ResponseEntity.ok(dto);
@@ -53,23 +49,20 @@ public class GroupController {
     }
 
     @PostMapping("/{id}/join")
-    public ResponseEntity<Void> join(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        groupService.join(id, me.getId());
+    public ResponseEntity<Void> join(@CurrentUser UUID meId, @PathVariable UUID id) {
+        groupService.join(id, meId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/leave")
-    public ResponseEntity<Void> leave(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        groupService.leave(id, me.getId());
+    public ResponseEntity<Void> leave(@CurrentUser UUID meId, @PathVariable UUID id) {
+        groupService.leave(id, meId);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        groupService.delete(id, me.getId());
+    public ResponseEntity<Void> delete(@CurrentUser UUID meId, @PathVariable UUID id) {
+        groupService.delete(id, meId);
         return ResponseEntity.noContent().build();
     }
 
@@ -78,14 +71,21 @@ public class GroupController {
         return ResponseEntity.ok(groupService.recentMessages(id));
     }
 
+    @GetMapping("/{id}/messages/history")
+    public ResponseEntity<CursorPageDTO<GroupMessageDTO>> history(@CurrentUser UUID meId,
+                                                                  @PathVariable UUID id,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(groupService.messageHistory(id, meId, cursor, size));
+    }
+
     public record SendMessageRequest(String text) {}
 
     @PostMapping("/{id}/messages")
-    public ResponseEntity<GroupMessageDTO> send(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<GroupMessageDTO> send(@CurrentUser UUID meId,
                                                 @PathVariable UUID id,
                                                 @RequestBody SendMessageRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        GroupMessageDTO dto = groupService.postMessage(id, me.getId(), req.text());
+        GroupMessageDTO dto = groupService.postMessage(id, meId, req.text());
         if (messagingTemplate != null) {
             messagingTemplate.convertAndSend("/topic/group/" + id, dto);
         }
@@ -105,11 +105,10 @@ public class GroupController {
     public record ShareResourceRequest(UUID resourceId) {}
 
     @PostMapping("/{id}/resources/share")
-    public ResponseEntity<Void> share(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<Void> share(@CurrentUser UUID meId,
                                       @PathVariable UUID id,
                                       @RequestBody ShareResourceRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        groupService.shareResource(id, req.resourceId(), me.getId());
+        groupService.shareResource(id, req.resourceId(), meId);
         return ResponseEntity.noContent().build();
     }
 
@@ -121,12 +120,11 @@ public class GroupController {
     public record ScheduleRequest(String scheduledTime, Integer duration) {}
 
     @PostMapping("/{id}/sessions")
-    public ResponseEntity<GroupSessionDTO> schedule(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<GroupSessionDTO> schedule(@CurrentUser UUID meId,
                                                     @PathVariable UUID id,
                                                     @RequestBody ScheduleRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         LocalDateTime time = LocalDateTime.parse(req.scheduledTime());
-        GroupSessionDTO dto = groupService.scheduleSession(id, time, req.duration(), me.getId());
+        GroupSessionDTO dto = groupService.scheduleSession(id, time, req.duration(), meId);
         return ResponseEntity.ok(dto);
     }
 }
@@ -1,18 +1,19 @@
 package com.skillswap.controller;
 
 import com.skillswap.dto.GroupMessageDTO;
-import com.skillswap.entity.User;
 import com.skillswap.repository.UserRepository;
+import com.skillswap.security.AuthenticatedUser;
 import com.skillswap.service.GroupService;
+import com.skillswap.service.TypingAggregator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
-import java.util.Map;
 import java.util.UUID;
 
 @Controller
@@ -21,6 +22,7 @@ public class GroupWsController {
     @Autowired private GroupService groupService;
     @Autowired private UserRepository userRepository;
     @Autowired(required = false) private SimpMessagingTemplate messagingTemplate;
+    @Autowired private TypingAggregator typingAggregator;
 
     public static class SendPayload { public String text; }
 
@@ -28,15 +30,16 @@ public class GroupWsController {
     public void send(@DestinationVariable String groupId, @Payload SendPayload payload, Principal principal) {
         if (messagingTemplate == null) return;
         if (principal == null) return;
-        User me = userRepository.findByEmail(principal.getName()).orElseThrow();
-        GroupMessageDTO dto = groupService.postMessage(UUID.fromString(groupId), me.getId(), payload.text);
+        UUID meId = principal instanceof Authentication a && a.getPrincipal() instanceof AuthenticatedUser user
+                ? user.id()
+                : userRepository.findByEmail(principal.getName()).orElseThrow().getId();
+        GroupMessageDTO dto = groupService.postMessage(UUID.fromString(groupId), meId, payload.text);
         messagingTemplate.convertAndSend("/topic/group/" + groupId, dto);
     }
 
     @MessageMapping("/group/{groupId}/typing")
     public void typing(@DestinationVariable String groupId, Principal principal) {
-        if (messagingTemplate == null) return;
         String name = principal == null ? "Someone" : principal.getName();
-        messagingTemplate.convertAndSend("/topic/group/" + groupId + "/typing", Map.of("user", name));
+        typingAggregator.typing(UUID.fromString(groupId), name);
     }
 }
@@ -1,39 +1,48 @@
 package com.skillswap.controller;
 
 import com.skillswap.dto.LeaderboardItemDTO;
-import com.skillswap.entity.User;
-import com.skillswap.entity.UserSkills;
+import com.skillswap.dto.LeaderboardRankDTO;
 import com.skillswap.repository.UserRepository;
-import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.security.CurrentUser;
+import com.skillswap.service.LeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/leaderboard")
 public class LeaderboardController {
 
     @Autowired
-    private UserRepository userRepository;
+    private LeaderboardService leaderboardService;
 
     @Autowired
-    private UserSkillsRepository userSkillsRepository;
+    private UserRepository userRepository;
 
     @GetMapping
     public ResponseEntity<List<LeaderboardItemDTO>> top() {
-        List<User> users = userRepository.findTop20ByOrderByPointsDesc();
-        return ResponseEntity.ok(users.stream().map(u -> {
-            UserSkills us = userSkillsRepository.findByUserId(u.getId()).orElse(null);
-            double rating = us != null && us.getRating() != null ? us.getRating() : 0.0;
-            int completed = us != null && us.getCompletedSessions() != null ? us.getCompletedSessions() : 0;
-            return new LeaderboardItemDTO(
-                    u.getId(), u.getName(), u.getProfilePictureUrl(),
-                    u.getPoints(), u.getLevel(), rating, completed
-            );
-        }).toList());
+        return ResponseEntity.ok(leaderboardService.top());
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardRankDTO> myRank(@CurrentUser UUID meId) {
+        return ResponseEntity.ok(rankOf(meId));
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<LeaderboardRankDTO> rank(@PathVariable UUID userId) {
+        if (!userRepository.existsById(userId)) throw new NoSuchElementException("User not found");
+        return ResponseEntity.ok(rankOf(userId));
+    }
+
+    private LeaderboardRankDTO rankOf(UUID userId) {
+        return new LeaderboardRankDTO(userId, leaderboardService.points(userId), leaderboardService.rank(userId));
     }
 }
@@ -1,15 +1,21 @@
 package com.skillswap.controller;
 
 import com.skillswap.dto.MatchDTO;
-import com.skillswap.entity.User;
-import com.skillswap.repository.UserRepository;
+import com.skillswap.dto.MatchPageDTO;
+import com.skillswap.dto.SwapDTO;
+import com.skillswap.service.MatchCacheService;
 import com.skillswap.service.MatchingService;
+import com.skillswap.service.SwapGraphService;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,20 +23,68 @@ import java.util.UUID;
 @RequestMapping("/api/match")
 public class MatchController {
 
+    public static final String COMPUTED_AT_HEADER = "X-Matches-Computed-At";
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private MatchCacheService matchCacheService;
+
     @Autowired
     private MatchingService matchingService;
 
     @Autowired
-    private UserRepository userRepository;
+    private SwapGraphService swapGraphService;
 
     @GetMapping
-    public ResponseEntity<List<MatchDTO>> myMatches(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(matchingService.findMatches(me.getId()));
+    public ResponseEntity<List<MatchDTO>> myMatches(@CurrentUser UUID meId) {
+        return withFreshness(matchCacheService.get(meId));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<MatchPageDTO> myMatchPage(@CurrentUser UUID meId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @RequestParam(required = false) String skill,
+                                                    @RequestParam(required = false) Double minRating,
+                                                    @RequestParam(required = false) String level,
+                                                    @RequestParam(defaultValue = "false") boolean availableWithMe) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(matchingService.findMatchPage(meId, cursor, pageSize, skill, minRating, level, availableWithMe));
+    }
+
+    // Server-sent events: "match" for each result as it enters the running top list (it may later be
+    // displaced), then one "settled" event carrying the final ordered list
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamMatches(@CurrentUser UUID meId,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Flux.<ServerSentEvent<Object>>create(sink -> {
+            try {
+                List<MatchDTO> settled = matchingService.streamMatches(meId, k,
+                        partial -> partial.forEach(m -> sink.next(ServerSentEvent.builder((Object) m).event("match").build())));
+                sink.next(ServerSentEvent.builder((Object) settled).event("settled").build());
+                sink.complete();
+            } catch (RuntimeException e) {
+                sink.error(e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Reciprocal pairs and 3-way swaps from the last batch run
+    @GetMapping("/swaps")
+    public ResponseEntity<List<SwapDTO>> mySwaps(@CurrentUser UUID meId) {
+        return ResponseEntity.ok(swapGraphService.swapsFor(meId));
     }
 
     @GetMapping("/{userId}")
     public ResponseEntity<List<MatchDTO>> matchesFor(@PathVariable UUID userId) {
-        return ResponseEntity.ok(matchingService.findMatches(userId));
+        return withFreshness(matchCacheService.get(userId));
+    }
+
+    private ResponseEntity<List<MatchDTO>> withFreshness(MatchCacheService.CachedMatches cached) {
+        return ResponseEntity.ok()
+                .header(COMPUTED_AT_HEADER, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(cached.computedAt()))
+                .body(cached.matches());
     }
 }
@@ -5,10 +5,9 @@ import com.skillswap.entity.Milestone;
 import com.skillswap.entity.User;
 import com.skillswap.repository.MilestoneRepository;
 import com.skillswap.repository.UserRepository;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -26,24 +25,22 @@ public class MilestoneController {
     private UserRepository userRepository;
 
     @GetMapping
-    public ResponseEntity<List<MilestoneDTO>> list(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        List<MilestoneDTO> out = milestoneRepository.findByUserId(me.getId()).stream().map(this::toDTO).toList();
+    public ResponseEntity<List<MilestoneDTO>> list(@CurrentUser UUID meId) {
+        List<MilestoneDTO> out = milestoneRepository.findByUserId(meId).stream().map(this::toDTO).toList();
         return ResponseEntity.ok(out);
     }
 
     @GetMapping("/skill/{skill}")
-    public ResponseEntity<List<MilestoneDTO>> listBySkill(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<List<MilestoneDTO>> listBySkill(@CurrentUser UUID meId,
                                                           @PathVariable String skill) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        List<MilestoneDTO> out = milestoneRepository.findByUserIdAndSkill(me.getId(), skill).stream().map(this::toDTO).toList();
+        List<MilestoneDTO> out = milestoneRepository.findByUserIdAndSkill(meId, skill).stream().map(this::toDTO).toList();
         return ResponseEntity.ok(out);
     }
 
     @PostMapping
-    public ResponseEntity<MilestoneDTO> create(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<MilestoneDTO> create(@CurrentUser UUID meId,
                                                @Valid @RequestBody CreateMilestoneRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.getReferenceById(meId);
         Milestone m = new Milestone();
         m.setUser(me);
         m.setSkillName(req.skillName());
@@ -56,12 +53,11 @@ public class MilestoneController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<MilestoneDTO> update(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<MilestoneDTO> update(@CurrentUser UUID meId,
                                                @PathVariable UUID id,
                                                @Valid @RequestBody UpdateMilestoneRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         Milestone m = milestoneRepository.findById(id).orElseThrow();
-        if (!m.getUser().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+        if (!m.getUser().getId().equals(meId)) return ResponseEntity.status(403).build();
         m.setTitle(req.title());
         m.setDescription(req.description());
         m.setDueDate(req.dueDate());
@@ -72,11 +68,10 @@ public class MilestoneController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<Void> delete(@CurrentUser UUID meId,
                                        @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         Milestone m = milestoneRepository.findById(id).orElseThrow();
-        if (!m.getUser().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+        if (!m.getUser().getId().equals(meId)) return ResponseEntity.status(403).build();
         milestoneRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
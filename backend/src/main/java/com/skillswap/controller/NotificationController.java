@@ -1,13 +1,10 @@
 package com.skillswap.controller;
 
 import com.skillswap.entity.Notification;
-import com.skillswap.entity.User;
-import com.skillswap.repository.UserRepository;
 import com.skillswap.service.NotificationService;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,13 +17,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @GetMapping
-    public ResponseEntity<List<Notification>> list(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(notificationService.getForUser(me.getId()));
+    public ResponseEntity<List<Notification>> list(@CurrentUser UUID meId) {
+        return ResponseEntity.ok(notificationService.getForUser(meId));
     }
 
     @PutMapping("/{id}/read")
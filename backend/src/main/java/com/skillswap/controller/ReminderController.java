@@ -4,15 +4,12 @@ import com.skillswap.dto.ReminderLogDTO;
 import com.skillswap.dto.ReminderMarkRequest;
 import com.skillswap.entity.ReminderLog;
 import com.skillswap.entity.SkillSession;
-import com.skillswap.entity.User;
 import com.skillswap.repository.ReminderLogRepository;
 import com.skillswap.repository.SkillSessionRepository;
-import com.skillswap.repository.UserRepository;
+import com.skillswap.security.CurrentUser;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -29,26 +26,21 @@ public class ReminderController {
     @Autowired
     private SkillSessionRepository sessionRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @GetMapping("/session/{sessionId}")
-    public ResponseEntity<List<ReminderLogDTO>> bySession(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<List<ReminderLogDTO>> bySession(@CurrentUser UUID meId,
                                                           @PathVariable UUID sessionId) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         SkillSession s = sessionRepository.findById(sessionId).orElseThrow();
-        if (!isParticipant(me, s)) return ResponseEntity.status(403).build();
+        if (!isParticipant(meId, s)) return ResponseEntity.status(403).build();
         List<ReminderLogDTO> out = reminderLogRepository.findBySessionId(sessionId).stream().map(this::toDTO).toList();
         return ResponseEntity.ok(out);
     }
 
     @PostMapping("/session/{sessionId}/mark")
-    public ResponseEntity<ReminderLogDTO> mark(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<ReminderLogDTO> mark(@CurrentUser UUID meId,
                                                @PathVariable UUID sessionId,
                                                @Valid @RequestBody ReminderMarkRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         SkillSession s = sessionRepository.findById(sessionId).orElseThrow();
-        if (!isParticipant(me, s)) return ResponseEntity.status(403).build();
+        if (!isParticipant(meId, s)) return ResponseEntity.status(403).build();
         ReminderLog log = new ReminderLog();
         log.setSession(s);
         log.setType(req.type());
@@ -61,8 +53,8 @@ public class ReminderController {
         return ResponseEntity.ok(toDTO(saved));
     }
 
-    private boolean isParticipant(User me, SkillSession s) {
-        return s.getTeacher().getId().equals(me.getId()) || s.getLearner().getId().equals(me.getId());
+    private boolean isParticipant(UUID meId, SkillSession s) {
+        return s.getTeacher().getId().equals(meId) || s.getLearner().getId().equals(meId);
     }
 
     private ReminderLogDTO toDTO(ReminderLog log) {
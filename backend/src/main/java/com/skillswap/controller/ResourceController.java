@@ -12,6 +12,8 @@ import com.skillswap.repository.ResourceVersionRepository;
 import com.skillswap.repository.SkillSessionRepository;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.service.storage.StorageService;
+import com.skillswap.security.CurrentUser;
+import com.skillswap.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,7 +22,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -70,11 +71,11 @@ public class ResourceController {
     private UserRepository userRepository;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ResourceItemDTO> upload(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<ResourceItemDTO> upload(@CurrentUser UUID meId,
                                                @RequestParam("file") MultipartFile file,
                                                @RequestParam(value = "sessionId", required = false) UUID sessionId,
                                                @RequestParam(value = "skillName", required = false) String skillName) throws IOException {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.getReferenceById(meId);
         if (file.getSize() > maxBytes) return ResponseEntity.status(413).build();
         String contentType = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
         if (!isAllowed(contentType, file.getOriginalFilename())) return ResponseEntity.status(415).build();
@@ -82,7 +83,7 @@ public class ResourceController {
         // Enforce monthly per-user quota
         java.time.LocalDateTime monthStart = java.time.LocalDate.now().withDayOfMonth(1).atStartOfDay();
         java.time.LocalDateTime monthEnd = monthStart.plusMonths(1);
-        Long used = resourceItemRepository.sumSizeByOwnerInRange(me.getId(), monthStart, monthEnd);
+        Long used = resourceItemRepository.sumSizeByOwnerInRange(meId, monthStart, monthEnd);
         if (used == null) used = 0L;
         if (used + file.getSize() > monthlyQuotaBytes) return ResponseEntity.status(413).build();
 
@@ -91,7 +92,7 @@ public class ResourceController {
         item.setOwner(me);
         if (sessionId != null) {
             SkillSession s = sessionRepository.findById(sessionId).orElseThrow();
-            if (!isParticipant(me, s)) return ResponseEntity.status(403).build();
+            if (!isParticipant(meId, s)) return ResponseEntity.status(403).build();
             item.setSession(s);
         }
         if (StringUtils.hasText(skillName)) item.setSkillName(skillName);
@@ -107,12 +108,11 @@ public class ResourceController {
     public record ResourceVersionDTO(Integer version, String contentType, Long sizeBytes, String uploadedAt) {}
 
     @GetMapping("/{id}/versions")
-    public ResponseEntity<List<ResourceVersionDTO>> versions(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
+    public ResponseEntity<List<ResourceVersionDTO>> versions(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable UUID id) {
         ResourceItem item = resourceItemRepository.findById(id).orElseThrow();
         // Owner-only for now
         if (principal != null) {
-            User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-            if (!item.getOwner().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+            if (!item.getOwner().getId().equals(principal.id())) return ResponseEntity.status(403).build();
         }
         if (resourceVersionRepository == null) return ResponseEntity.ok(List.of());
         List<ResourceVersionDTO> list = resourceVersionRepository.findByResource_IdOrderByVersionDesc(id)
@@ -122,13 +122,12 @@ public class ResourceController {
     }
 
     @PostMapping(value = "/{id}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ResourceItemDTO> uploadNewVersion(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<ResourceItemDTO> uploadNewVersion(@CurrentUser UUID meId,
                                                             @PathVariable UUID id,
                                                             @RequestParam("file") MultipartFile file) throws IOException {
         if (resourceVersionRepository == null) return ResponseEntity.status(501).build();
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         ResourceItem item = resourceItemRepository.findById(id).orElseThrow();
-        if (!item.getOwner().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+        if (!item.getOwner().getId().equals(meId)) return ResponseEntity.status(403).build();
         if (file.getSize() > maxBytes) return ResponseEntity.status(413).build();
         String contentType = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
         if (!isAllowed(contentType, file.getOriginalFilename())) return ResponseEntity.status(415).build();
@@ -157,13 +156,12 @@ public class ResourceController {
     }
 
     @PostMapping("/{id}/versions/{version}/revert")
-    public ResponseEntity<ResourceItemDTO> revert(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<ResourceItemDTO> revert(@CurrentUser UUID meId,
                                                  @PathVariable UUID id,
                                                  @PathVariable Integer version) {
         if (resourceVersionRepository == null) return ResponseEntity.status(501).build();
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         ResourceItem item = resourceItemRepository.findById(id).orElseThrow();
-        if (!item.getOwner().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+        if (!item.getOwner().getId().equals(meId)) return ResponseEntity.status(403).build();
         ResourceVersion target = resourceVersionRepository.findByResource_IdAndVersion(id, version).orElseThrow();
 
         // Save current state as a version before reverting
@@ -188,14 +186,14 @@ public class ResourceController {
     }
 
     @PostMapping("/link")
-    public ResponseEntity<ResourceItemDTO> link(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<ResourceItemDTO> link(@CurrentUser UUID meId,
                                              @Valid @RequestBody CreateResourceLinkRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.getReferenceById(meId);
         ResourceItem item = new ResourceItem();
         item.setOwner(me);
         if (req.sessionId() != null) {
             SkillSession s = sessionRepository.findById(req.sessionId()).orElseThrow();
-            if (!isParticipant(me, s)) return ResponseEntity.status(403).build();
+            if (!isParticipant(meId, s)) return ResponseEntity.status(403).build();
             item.setSession(s);
         }
         item.setSkillName(req.skillName());
@@ -223,9 +221,8 @@ public class ResourceController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<ResourceItemDTO>> my(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        List<ResourceItemDTO> list = resourceItemRepository.findByOwnerId(me.getId())
+    public ResponseEntity<List<ResourceItemDTO>> my(@CurrentUser UUID meId) {
+        List<ResourceItemDTO> list = resourceItemRepository.findByOwnerId(meId)
                 .stream().map(this::toDto).collect(Collectors.toList());
         return ResponseEntity.ok(list);
     }
@@ -256,17 +253,16 @@ public class ResourceController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) throws IOException {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public ResponseEntity<Void> delete(@CurrentUser UUID meId, @PathVariable UUID id) throws IOException {
         ResourceItem item = resourceItemRepository.findById(id).orElseThrow();
-        if (!item.getOwner().getId().equals(me.getId())) return ResponseEntity.status(403).build();
+        if (!item.getOwner().getId().equals(meId)) return ResponseEntity.status(403).build();
         if (item.getFileKey() != null) storageService.delete(item.getFileKey());
         resourceItemRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
-    private boolean isParticipant(User me, SkillSession s) {
-        return s.getTeacher().getId().equals(me.getId()) || s.getLearner().getId().equals(me.getId());
+    private boolean isParticipant(UUID meId, SkillSession s) {
+        return s.getTeacher().getId().equals(meId) || s.getLearner().getId().equals(meId);
     }
 
     private ResourceType detectType(String contentType, String filename) {
@@ -11,10 +11,11 @@ import com.skillswap.repository.ReviewRepository;
 import com.skillswap.repository.SkillSessionRepository;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.LeaderboardService;
+import com.skillswap.service.MatchCacheService;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.DoubleSummaryStatistics;
@@ -37,6 +38,12 @@ public class ReviewController {
     @Autowired
     private UserSkillsRepository userSkillsRepository;
 
+    @Autowired
+    private MatchCacheService matchCacheService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ReviewViewDTO>> getUserReviews(@PathVariable UUID userId) {
         List<Review> list = reviewRepository.findByRevieweeIdOrderByCreatedAtDesc(userId);
@@ -44,16 +51,16 @@ public class ReviewController {
     }
 
     @PostMapping
-    public ResponseEntity<?> submit(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<?> submit(@CurrentUser UUID meId,
                                     @RequestBody ReviewDTO dto) {
-        User reviewer = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User reviewer = userRepository.findById(meId).orElseThrow();
         SkillSession session = sessionRepository.findById(dto.sessionId()).orElseThrow();
 
         if (session.getStatus() != SessionStatus.COMPLETED) {
             return ResponseEntity.badRequest().body("Session must be COMPLETED to review");
         }
 
-        if (reviewRepository.findBySessionIdAndReviewerId(dto.sessionId(), reviewer.getId()).isPresent()) {
+        if (reviewRepository.findBySessionIdAndReviewerId(dto.sessionId(), meId).isPresent()) {
             return ResponseEntity.badRequest().body("You already reviewed this session");
         }
 
@@ -61,7 +68,7 @@ public class ReviewController {
             return ResponseEntity.badRequest().body("Rating must be between 1 and 5");
         }
 
-        User reviewee = reviewer.getId().equals(session.getTeacher().getId()) ? session.getLearner() : session.getTeacher();
+        User reviewee = meId.equals(session.getTeacher().getId()) ? session.getLearner() : session.getTeacher();
 
         Review r = new Review();
         r.setSession(session);
@@ -78,6 +85,8 @@ public class ReviewController {
         UserSkills rs = userSkillsRepository.findByUserId(reviewee.getId()).orElseThrow();
         rs.setRating(avg);
         userSkillsRepository.save(rs);
+        matchCacheService.statsChanged(rs);
+        leaderboardService.statsChanged(rs);
 
         return ResponseEntity.ok(mapToView(r));
     }
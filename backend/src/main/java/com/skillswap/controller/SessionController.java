@@ -7,13 +7,14 @@ import com.skillswap.entity.*;
 import com.skillswap.repository.SkillSessionRepository;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.LeaderboardService;
+import com.skillswap.service.MatchCacheService;
 import com.skillswap.service.NotificationService;
 import com.skillswap.service.UserService;
 import com.skillswap.service.CalendarSyncService;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -42,23 +43,28 @@ public class SessionController {
     @Autowired
     private CalendarSyncService calendarSyncService;
 
+    @Autowired
+    private MatchCacheService matchCacheService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping("/my-sessions")
-    public ResponseEntity<List<SessionDTO>> mySessions(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        List<SkillSession> sessions = sessionRepository.findMySessions(me.getId());
-        return ResponseEntity.ok(sessions.stream().map(s -> mapToDTO(s, me)).toList());
+    public ResponseEntity<List<SessionDTO>> mySessions(@CurrentUser UUID meId) {
+        List<SkillSession> sessions = sessionRepository.findMySessions(meId);
+        return ResponseEntity.ok(sessions.stream().map(s -> mapToDTO(s, meId)).toList());
     }
 
     @GetMapping
-    public ResponseEntity<List<SessionDTO>> list(@AuthenticationPrincipal UserDetails principal) {
+    public ResponseEntity<List<SessionDTO>> list(@CurrentUser UUID meId) {
         // Mirrors /my-sessions for compatibility
-        return mySessions(principal);
+        return mySessions(meId);
     }
 
     @PostMapping
-    public ResponseEntity<SessionDTO> create(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<SessionDTO> create(@CurrentUser UUID meId,
                                              @Valid @RequestBody CreateSessionRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.findById(meId).orElseThrow();
         User partner = userRepository.findById(req.partnerId()).orElseThrow();
 
         SkillSession s = new SkillSession();
@@ -75,14 +81,13 @@ public class SessionController {
 
         calendarSyncService.syncSession(saved);
 
-        return ResponseEntity.ok(mapToDTO(saved, me));
+        return ResponseEntity.ok(mapToDTO(saved, meId));
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<SessionDTO> updateStatus(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<SessionDTO> updateStatus(@CurrentUser UUID meId,
                                                    @PathVariable UUID id,
                                                    @Valid @RequestBody UpdateSessionStatusRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         SkillSession s = sessionRepository.findById(id).orElseThrow();
 
         SessionStatus newStatus = SessionStatus.valueOf(req.status());
@@ -103,22 +108,25 @@ public class SessionController {
             learnerSkills.setCompletedSessions((learnerSkills.getCompletedSessions() == null ? 0 : learnerSkills.getCompletedSessions()) + 1);
             userSkillsRepository.save(teacherSkills);
             userSkillsRepository.save(learnerSkills);
+            matchCacheService.statsChanged(teacherSkills);
+            matchCacheService.statsChanged(learnerSkills);
+            leaderboardService.statsChanged(teacherSkills);
+            leaderboardService.statsChanged(learnerSkills);
             // Award points
             userService.addPoints(teacher.getId(), 20);
             userService.addPoints(learner.getId(), 10);
         }
 
         calendarSyncService.syncSession(s);
-        return ResponseEntity.ok(mapToDTO(s, me));
+        return ResponseEntity.ok(mapToDTO(s, meId));
     }
 
     public record SessionJoinInfoDTO(UUID sessionId, String videoUrl, String whiteboardUrl) {}
 
     @GetMapping("/{id}/join-info")
-    public ResponseEntity<SessionJoinInfoDTO> joinInfo(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public ResponseEntity<SessionJoinInfoDTO> joinInfo(@CurrentUser UUID meId, @PathVariable UUID id) {
         SkillSession s = sessionRepository.findById(id).orElseThrow();
-        if (!s.getTeacher().getId().equals(me.getId()) && !s.getLearner().getId().equals(me.getId())) {
+        if (!s.getTeacher().getId().equals(meId) && !s.getLearner().getId().equals(meId)) {
             return ResponseEntity.status(403).build();
         }
         if (s.getVideoRoom() == null || s.getVideoRoom().isEmpty()) {
@@ -134,10 +142,9 @@ public class SessionController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@AuthenticationPrincipal UserDetails principal, @PathVariable UUID id) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public ResponseEntity<Void> delete(@CurrentUser UUID meId, @PathVariable UUID id) {
         SkillSession s = sessionRepository.findById(id).orElseThrow();
-        if (!s.getTeacher().getId().equals(me.getId()) && !s.getLearner().getId().equals(me.getId())) {
+        if (!s.getTeacher().getId().equals(meId) && !s.getLearner().getId().equals(meId)) {
             return ResponseEntity.status(403).build();
         }
         sessionRepository.deleteById(id);
@@ -145,8 +152,8 @@ public class SessionController {
         return ResponseEntity.noContent().build();
     }
 
-    private SessionDTO mapToDTO(SkillSession s, User current) {
-        boolean isTeacher = s.getTeacher().getId().equals(current.getId());
+    private SessionDTO mapToDTO(SkillSession s, UUID currentId) {
+        boolean isTeacher = s.getTeacher().getId().equals(currentId);
         User partner = isTeacher ? s.getLearner() : s.getTeacher();
         return new SessionDTO(
                 s.getId(),
@@ -4,6 +4,7 @@ import com.skillswap.dto.*;
 import com.skillswap.entity.User;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.service.TotpService;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/2fa")
 public class TwoFactorController {
@@ -26,9 +29,8 @@ public class TwoFactorController {
 
     @GetMapping("/setup")
     public ResponseEntity<TwoFactorSetupResponse> setup(@AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         String secret = totpService.generateSecret();
-        String url = totpService.buildOtpAuthUrl("SkillSwap", me.getEmail(), secret);
+        String url = totpService.buildOtpAuthUrl("SkillSwap", principal.getUsername(), secret);
         return ResponseEntity.ok(new TwoFactorSetupResponse(secret, url));
     }
 
@@ -36,16 +38,15 @@ public class TwoFactorController {
     public ResponseEntity<byte[]> setupQr(@RequestParam("secret") String secret,
                                           @RequestParam(value = "size", defaultValue = "256") int size,
                                           @AuthenticationPrincipal UserDetails principal) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        String url = totpService.buildOtpAuthUrl("SkillSwap", me.getEmail(), secret);
+        String url = totpService.buildOtpAuthUrl("SkillSwap", principal.getUsername(), secret);
         byte[] png = totpService.qrcodePng(url, size);
         return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-store").body(png);
     }
 
     @PostMapping("/enable")
-    public ResponseEntity<Void> enable(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<Void> enable(@CurrentUser UUID meId,
                                        @Valid @RequestBody TwoFactorEnableRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.findById(meId).orElseThrow();
         boolean ok = totpService.verifyCode(req.secret(), req.code());
         if (!ok) return ResponseEntity.status(400).build();
         me.setTotpSecret(req.secret());
@@ -55,9 +56,9 @@ public class TwoFactorController {
     }
 
     @PostMapping("/disable")
-    public ResponseEntity<Void> disable(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<Void> disable(@CurrentUser UUID meId,
                                         @Valid @RequestBody TotpCodeRequest req) {
-        User me = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User me = userRepository.findById(meId).orElseThrow();
         if (me.getTotpSecret() == null || !totpService.verifyCode(me.getTotpSecret(), req.code())) {
             return ResponseEntity.status(400).build();
         }
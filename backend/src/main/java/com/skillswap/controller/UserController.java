@@ -8,12 +8,19 @@ import com.skillswap.entity.User;
 import com.skillswap.entity.UserSkills;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.LeaderboardService;
+import com.skillswap.service.MatchCacheService;
+import com.skillswap.service.SkillDictionary;
+import com.skillswap.service.SkillIndex;
+import com.skillswap.service.matching.SkillProfile;
+import com.skillswap.service.matching.WeeklyAvailability;
+import com.skillswap.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.*;
 
 @RestController
@@ -29,39 +36,88 @@ public class UserController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private MatchCacheService matchCacheService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping("/me")
-    public ResponseEntity<UserProfileDTO> me(@AuthenticationPrincipal UserDetails principal) {
-        User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        UserSkills skills = userSkillsRepository.findByUserId(user.getId()).orElseThrow();
+    public ResponseEntity<UserProfileDTO> me(@CurrentUser UUID meId) {
+        User user = userRepository.findById(meId).orElseThrow();
+        UserSkills skills = userSkillsRepository.findByUserIdWithSkillIds(meId).orElseThrow();
         return ResponseEntity.ok(mapToDTO(user, skills));
     }
 
     @PutMapping("/me")
-    public ResponseEntity<UserProfileDTO> update(@AuthenticationPrincipal UserDetails principal,
+    public ResponseEntity<UserProfileDTO> update(@CurrentUser UUID meId,
                                                  @jakarta.validation.Valid @RequestBody UpdateUserRequest req) throws JsonProcessingException {
-        User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        UserSkills skills = userSkillsRepository.findByUserId(user.getId()).orElseThrow();
+        // Reject a bad timezone before anything is changed, skill names interned included
+        ZoneId requestedZone = parseZone(req.timezone());
+        User user = userRepository.findById(meId).orElseThrow();
+        UserSkills skills = userSkillsRepository.findByUserIdWithSkillIds(meId).orElseThrow();
 
         if (req.name() != null) user.setName(req.name());
         if (req.bio() != null) user.setBio(req.bio());
         if (req.profilePictureUrl() != null) user.setProfilePictureUrl(req.profilePictureUrl());
 
-        if (req.skillsOffered() != null)
+        if (req.skillsOffered() != null) {
             skills.setSkillsOffered(objectMapper.writeValueAsString(req.skillsOffered()));
-        if (req.skillsWanted() != null)
+            skills.setOfferedSkillIds(skillDictionary.internAll(req.skillsOffered()));
+        }
+        if (req.skillsWanted() != null) {
             skills.setSkillsWanted(objectMapper.writeValueAsString(req.skillsWanted()));
+            skills.setWantedSkillIds(skillDictionary.internAll(req.skillsWanted()));
+        }
         if (req.availability() != null)
             skills.setAvailability(req.availability());
 
+        ZoneId previousZone = WeeklyAvailability.zoneOf(user.getTimezone());
+        if (requestedZone != null) user.setTimezone(requestedZone.getId());
+        ZoneId zone = WeeklyAvailability.zoneOf(user.getTimezone());
+        long[] availability = null;
+        if (req.availabilitySlots() != null) {
+            availability = WeeklyAvailability.fromSlots(req.availabilitySlots(), zone);
+        } else if (skills.getAvailabilityMask() != null && !zone.equals(previousZone)) {
+            // Keep the same local hours when only the timezone changes
+            availability = WeeklyAvailability.fromSlots(
+                    WeeklyAvailability.toSlots(WeeklyAvailability.fromBytes(skills.getAvailabilityMask()), previousZone), zone);
+        }
+        if (availability != null) skills.setAvailabilityMask(WeeklyAvailability.toBytes(availability));
+
         userRepository.save(user);
-        userSkillsRepository.save(skills);
+        skills = userSkillsRepository.save(skills);
+        if (req.name() != null || req.profilePictureUrl() != null) leaderboardService.profileChanged(user);
+        boolean skillsChanged = req.skillsOffered() != null || req.skillsWanted() != null;
+        if (skillsChanged || availability != null) {
+            SkillProfile previous = skillsChanged
+                    ? skillIndex.update(meId, skills.getOfferedSkillIds(), skills.getWantedSkillIds())
+                    : skillIndex.profileOf(meId);
+            if (availability != null) skillIndex.updateAvailability(meId, availability);
+            matchCacheService.skillsChanged(meId, previous);
+        }
         return ResponseEntity.ok(mapToDTO(user, skills));
     }
 
+    private static ZoneId parseZone(String timezone) {
+        if (timezone == null) return null;
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown timezone: " + timezone);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserProfileDTO> get(@PathVariable UUID id) {
         User user = userRepository.findById(id).orElseThrow();
-        UserSkills skills = userSkillsRepository.findByUserId(user.getId()).orElseThrow();
+        UserSkills skills = userSkillsRepository.findByUserIdWithSkillIds(user.getId()).orElseThrow();
         return ResponseEntity.ok(mapToDTO(user, skills));
     }
 
@@ -69,16 +125,13 @@ public class UserController {
         return new UserProfileDTO(
                 user.getId(), user.getName(), user.getEmail(), user.getBio(),
                 user.getProfilePictureUrl(),
-                parseSkills(skills.getSkillsOffered()),
-                parseSkills(skills.getSkillsWanted()),
+                skillDictionary.names(skills.getOfferedSkillIds()),
+                skillDictionary.names(skills.getWantedSkillIds()),
                 skills.getAvailability(), skills.getRating(),
-                user.getPoints(), user.getLevel(), skills.getCompletedSessions()
+                user.getPoints(), user.getLevel(), skills.getCompletedSessions(),
+                WeeklyAvailability.toSlots(WeeklyAvailability.fromBytes(skills.getAvailabilityMask()),
+                        WeeklyAvailability.zoneOf(user.getTimezone())),
+                user.getTimezone()
         );
     }
-
-    private List<String> parseSkills(String json) {
-        if (json == null || json.isEmpty() || json.equals("[]")) return List.of();
-        return Arrays.stream(json.replace("[", "").replace("]", "").replace("\"", "").split(","))
-                .map(String::trim).filter(s -> !s.isEmpty()).toList();
-    }
 }
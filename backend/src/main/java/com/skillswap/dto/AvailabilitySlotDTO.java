@@ -0,0 +1,12 @@
+package com.skillswap.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+public record AvailabilitySlotDTO(
+        @NotNull DayOfWeek day,
+        @NotNull LocalTime start,
+        @NotNull LocalTime end // Exclusive; 00:00 means midnight at the end of the day, and an end at or before start runs past midnight
+) {}
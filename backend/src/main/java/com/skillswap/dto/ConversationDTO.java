@@ -8,5 +8,6 @@ public record ConversationDTO(
         String otherUserName,
         String otherUserAvatar,
         String lastMessageTime,
+        String lastMessagePreview,
         long unreadCount
 ) {}
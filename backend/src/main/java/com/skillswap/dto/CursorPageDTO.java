@@ -0,0 +1,8 @@
+package com.skillswap.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor // pass back to get the next (older) page; null when there is none
+) {}
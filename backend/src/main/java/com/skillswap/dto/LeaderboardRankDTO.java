@@ -0,0 +1,9 @@
+package com.skillswap.dto;
+
+import java.util.UUID;
+
+public record LeaderboardRankDTO(
+        UUID userId,
+        Integer points,
+        Integer rank
+) {}
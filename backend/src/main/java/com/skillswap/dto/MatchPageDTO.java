@@ -0,0 +1,8 @@
+package com.skillswap.dto;
+
+import java.util.List;
+
+public record MatchPageDTO(
+        List<MatchDTO> items,
+        String nextCursor // null on the last page
+) {}
@@ -0,0 +1,14 @@
+package com.skillswap.dto;
+
+import java.util.UUID;
+
+public record MessageSearchHitDTO(
+        String kind, // "direct" or "group"
+        UUID id,
+        UUID conversationId, // set for direct messages
+        UUID groupId, // set for group messages
+        UUID senderId,
+        String senderName,
+        String messageText,
+        String createdAt
+) {}
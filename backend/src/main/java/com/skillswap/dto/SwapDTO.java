@@ -0,0 +1,9 @@
+package com.skillswap.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SwapDTO(
+        List<UUID> userIds, // Each teaches the next; the last teaches the first
+        List<String> names
+) {}
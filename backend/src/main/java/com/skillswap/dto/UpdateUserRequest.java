@@ -1,6 +1,7 @@
 package com.skillswap.dto;
 
 import java.util.List;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Size;
 
 public record UpdateUserRequest(
@@ -9,5 +10,7 @@ public record UpdateUserRequest(
         @Size(max = 500) String profilePictureUrl,
         @Size(max = 50) List<String> skillsOffered,
         @Size(max = 50) List<String> skillsWanted,
-        @Size(max = 100) String availability
+        @Size(max = 100) String availability,
+        @Valid @Size(max = 168) List<AvailabilitySlotDTO> availabilitySlots,
+        @Size(max = 50) String timezone
 ) {}
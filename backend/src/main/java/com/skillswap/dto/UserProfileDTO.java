@@ -16,5 +16,7 @@ public record UserProfileDTO(
         Double rating,
         Integer points,
         String level,
-        Integer completedSessions
+        Integer completedSessions,
+        List<AvailabilitySlotDTO> availabilitySlots, // in the user's timezone
+        String timezone
 ) {}
@@ -16,6 +16,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Conversation {
+    public static final int PREVIEW_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -32,4 +34,23 @@ public class Conversation {
     private String pairKey;
 
     private LocalDateTime lastMessageTime;
+
+    // Start of the newest message, kept with lastMessageTime so the inbox never reads `messages`
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    // Messages from the other participant not yet read; maintained with atomic updates in ConversationRepository
+    private Integer user1Unread = 0;
+
+    private Integer user2Unread = 0;
+
+    // Read watermarks: every message from the other participant created at or before this is read
+    private LocalDateTime user1LastReadAt;
+
+    private LocalDateTime user2LastReadAt;
+
+    public static String preview(String text) {
+        if (text == null) return null;
+        return text.length() <= PREVIEW_LENGTH ? text : text.substring(0, PREVIEW_LENGTH);
+    }
 }
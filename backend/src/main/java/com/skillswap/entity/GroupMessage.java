@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "group_messages")
+@Table(name = "group_messages", indexes = @Index(name = "idx_group_messages_group_time", columnList = "group_id, created_at DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
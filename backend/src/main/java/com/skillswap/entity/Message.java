@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = @Index(name = "idx_messages_conv_time", columnList = "conversation_id, created_at DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,20 @@
+package com.skillswap.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "skill_synonyms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillSynonym {
+    @Id
+    @Column(length = 100)
+    private String alias; // normalized key, e.g. "js"
+
+    @Column(nullable = false, length = 100)
+    private String canonical; // display name of the skill it maps to, e.g. "JavaScript"
+}
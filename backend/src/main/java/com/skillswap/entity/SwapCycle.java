@@ -0,0 +1,37 @@
+package com.skillswap.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// A reciprocal pair (userC null) or a 3-cycle: userA teaches userB, userB teaches userC, userC teaches userA.
+// userA is always the smallest id so each swap is stored once.
+@Entity
+@Table(name = "swap_cycles", indexes = {
+        @Index(name = "idx_swap_cycles_user_a", columnList = "generation, user_a"),
+        @Index(name = "idx_swap_cycles_user_b", columnList = "generation, user_b"),
+        @Index(name = "idx_swap_cycles_user_c", columnList = "generation, user_c")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwapCycle {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long generation; // Start time (epoch millis) of the batch run that found it
+
+    @Column(name = "user_a", nullable = false)
+    private UUID userA;
+
+    @Column(name = "user_b", nullable = false)
+    private UUID userB;
+
+    @Column(name = "user_c")
+    private UUID userC;
+}
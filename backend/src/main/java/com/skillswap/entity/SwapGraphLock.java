@@ -0,0 +1,27 @@
+package com.skillswap.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Single row leased by the instance running the swap graph job; every instance fires the same cron
+@Entity
+@Table(name = "swap_graph_lock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwapGraphLock {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 64)
+    private String owner;
+}
@@ -0,0 +1,23 @@
+package com.skillswap.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marks a swap graph generation as complete. Saved only after every SwapCycle of the run is committed,
+// so a generation without a row here may still be half written.
+@Entity
+@Table(name = "swap_graph_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwapGraphRun {
+    @Id
+    private Long generation;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,6 +22,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -25,6 +32,8 @@ public class User {
 
     private String name;
 
+    // Never changes after registration; findByEmail resolves it through the natural-id cache
+    @NaturalId
     @Column(unique = true)
     private String email;
 
@@ -45,14 +54,17 @@ public class User {
 
     private String timezone = "UTC";
 
+    // Bumped to revoke every JWT issued so far (see TokenVersionService)
+    private Integer tokenVersion = 0;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private UserSkills userSkills;
+    // UserSkills is deliberately not mapped back here: an inverse one-to-one can't be lazy, so every User
+    // load (second-level cache hits included) would query user_skills. Use UserSkillsRepository.
 
     @OneToMany(mappedBy = "reviewee", fetch = FetchType.LAZY)
     private List<Review> reviewsReceived;
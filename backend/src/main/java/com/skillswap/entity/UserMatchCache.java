@@ -0,0 +1,26 @@
+package com.skillswap.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_match_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMatchCache {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String matchesJson; // JSON array of MatchDTO, best first
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "user_skills")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-skills")
 public class UserSkills {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -20,13 +27,30 @@ public class UserSkills {
     private User user;
 
     @Column(columnDefinition = "TEXT")
-    private String skillsOffered; // JSON array as string: ["Java","Python"]
+    private String skillsOffered; // Legacy JSON copy: ["Java","Python"]; reads go through offeredSkillIds
 
     @Column(columnDefinition = "TEXT")
-    private String skillsWanted; // JSON array as string: ["React","AWS"]
+    private String skillsWanted; // Legacy JSON copy: ["React","AWS"]; reads go through wantedSkillIds
+
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-skill-ids")
+    @CollectionTable(name = "user_skill_offered", joinColumns = @JoinColumn(name = "user_skills_id"))
+    @Column(name = "skill_id", nullable = false)
+    @OrderColumn(name = "sort_order")
+    private List<Integer> offeredSkillIds = new ArrayList<>();
+
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-skill-ids")
+    @CollectionTable(name = "user_skill_wanted", joinColumns = @JoinColumn(name = "user_skills_id"))
+    @Column(name = "skill_id", nullable = false)
+    @OrderColumn(name = "sort_order")
+    private List<Integer> wantedSkillIds = new ArrayList<>();
 
     private String availability; // "Weekdays 6-8 PM"
 
+    @Column(name = "availability_mask", length = 21)
+    private byte[] availabilityMask; // 168 UTC hour bits, see WeeklyAvailability
+
     private Double rating = 0.0;
 
     private Integer completedSessions = 0;
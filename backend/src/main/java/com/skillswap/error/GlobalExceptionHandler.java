@@ -53,6 +53,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<ApiError> handleSecurity(SecurityException ex, HttpServletRequest req) {
+        ApiError body = new ApiError(OffsetDateTime.now(), HttpStatus.FORBIDDEN.value(), "Forbidden", ex.getMessage(), req.getRequestURI());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
+    }
+
     @ExceptionHandler(RateLimitException.class)
     public ResponseEntity<ApiError> handleRateLimit(RateLimitException ex, HttpServletRequest req) {
         ApiError body = new ApiError(OffsetDateTime.now(), 429, "TooManyRequests", ex.getMessage(), req.getRequestURI());
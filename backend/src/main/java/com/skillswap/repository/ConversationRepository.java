@@ -2,7 +2,13 @@ package com.skillswap.repository;
 
 import com.skillswap.entity.Conversation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +16,74 @@ import java.util.UUID;
 public interface ConversationRepository extends JpaRepository<Conversation, UUID> {
     Optional<Conversation> findByPairKey(String pairKey);
     List<Conversation> findByUser1_IdOrUser2_IdOrderByLastMessageTimeDesc(UUID u1, UUID u2);
+
+    // Inbox in one query with only the columns it shows:
+    // conversation id, other user's id/name/avatar, last message time, last message preview, my unread count
+    @Query("select c.id, o.id, o.name, o.profilePictureUrl, c.lastMessageTime, c.lastMessagePreview, " +
+            "case when c.user1.id = :userId then c.user1Unread else c.user2Unread end " +
+            "from Conversation c join User o on o.id = case when c.user1.id = :userId then c.user2.id else c.user1.id end " +
+            "where c.user1.id = :userId or c.user2.id = :userId order by c.lastMessageTime desc")
+    List<Object[]> findInboxRows(@Param("userId") UUID userId);
+
+    // count new messages for the recipient, the newest sent at `at` starting with `preview`;
+    // lastMessageTime and the preview never move backwards. Only messages after the recipient's read
+    // watermark count as unread: they may have been shown and marked read before this runs.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Conversation c set " +
+            "c.lastMessagePreview = case when c.lastMessageTime is null or c.lastMessageTime <= :at then :preview else c.lastMessagePreview end, " +
+            "c.lastMessageTime = case when c.lastMessageTime is null or c.lastMessageTime < :at then :at else c.lastMessageTime end, " +
+            "c.user1Unread = case when c.user1.id = :recipientId then coalesce(c.user1Unread, 0) + " +
+            "(select cast(count(m) as Integer) from Message m where m.id in :messageIds " +
+            "and (c.user1LastReadAt is null or m.createdAt > c.user1LastReadAt)) else c.user1Unread end, " +
+            "c.user2Unread = case when c.user2.id = :recipientId then coalesce(c.user2Unread, 0) + " +
+            "(select cast(count(m) as Integer) from Message m where m.id in :messageIds " +
+            "and (c.user2LastReadAt is null or m.createdAt > c.user2LastReadAt)) else c.user2Unread end " +
+            "where c.id = :conversationId")
+    int recordMessages(@Param("conversationId") UUID conversationId, @Param("recipientId") UUID recipientId,
+                       @Param("messageIds") Collection<UUID> messageIds, @Param("at") LocalDateTime at,
+                       @Param("preview") String preview);
+
+    // Moves the reader's watermark forward (never back) and recounts their unread messages as those after it:
+    // a message committed after readUpTo was chosen has already been counted and must stay unread
+    @Transactional
+    @Modifying
+    @Query("update Conversation c set " +
+            "c.user1LastReadAt = case when c.user1.id = :userId and (c.user1LastReadAt is null or c.user1LastReadAt < :readUpTo) then :readUpTo else c.user1LastReadAt end, " +
+            "c.user2LastReadAt = case when c.user2.id = :userId and (c.user2LastReadAt is null or c.user2LastReadAt < :readUpTo) then :readUpTo else c.user2LastReadAt end, " +
+            "c.user1Unread = case when c.user1.id = :userId then " +
+            "(select cast(count(m) as Integer) from Message m where m.conversation.id = c.id and m.sender.id <> c.user1.id " +
+            "and m.createdAt > :readUpTo and (c.user1LastReadAt is null or m.createdAt > c.user1LastReadAt)) else c.user1Unread end, " +
+            "c.user2Unread = case when c.user2.id = :userId then " +
+            "(select cast(count(m) as Integer) from Message m where m.conversation.id = c.id and m.sender.id <> c.user2.id " +
+            "and m.createdAt > :readUpTo and (c.user2LastReadAt is null or m.createdAt > c.user2LastReadAt)) else c.user2Unread end " +
+            "where c.id = :conversationId")
+    int markRead(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId, @Param("readUpTo") LocalDateTime readUpTo);
+
+    // Conversations created before the counters existed
+    @Transactional
+    @Modifying
+    @Query("update Conversation c set " +
+            "c.user1Unread = (select cast(count(m) as Integer) from Message m where m.conversation.id = c.id and m.isRead = false and m.sender.id <> c.user1.id), " +
+            "c.user2Unread = (select cast(count(m) as Integer) from Message m where m.conversation.id = c.id and m.isRead = false and m.sender.id <> c.user2.id) " +
+            "where c.user1Unread is null or c.user2Unread is null")
+    int backfillUnreadCounters();
+
+    // Watermarks for conversations read before watermarks existed, taken from the legacy per-message flags
+    @Transactional
+    @Modifying
+    @Query("update Conversation c set " +
+            "c.user1LastReadAt = coalesce(c.user1LastReadAt, (select max(m.createdAt) from Message m where m.conversation.id = c.id and m.isRead = true and m.sender.id <> c.user1.id)), " +
+            "c.user2LastReadAt = coalesce(c.user2LastReadAt, (select max(m.createdAt) from Message m where m.conversation.id = c.id and m.isRead = true and m.sender.id <> c.user2.id)) " +
+            "where c.user1LastReadAt is null or c.user2LastReadAt is null")
+    int backfillReadWatermarks();
+
+    // Previews for conversations whose last message predates the preview column
+    @Transactional
+    @Modifying
+    @Query(value = "update conversations c set last_message_preview = (" +
+            "select substring(m.message_text, 1, 200) from messages m where m.conversation_id = c.id " +
+            "order by m.created_at desc limit 1) " +
+            "where c.last_message_preview is null and c.last_message_time is not null", nativeQuery = true)
+    int backfillLastMessagePreviews();
 }
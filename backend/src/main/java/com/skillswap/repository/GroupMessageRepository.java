@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +15,14 @@ public interface GroupMessageRepository extends JpaRepository<GroupMessage, UUID
 
     @Query("select m from GroupMessage m join fetch m.sender where m.group.id = :groupId order by m.createdAt desc")
     List<GroupMessage> findRecentByGroupIdWithSender(@Param("groupId") UUID groupId, Pageable pageable);
+
+    // Keyset history on (created_at, id), newest first; served by idx_group_messages_group_time
+    @Query("select m from GroupMessage m join fetch m.sender where m.group.id = :groupId order by m.createdAt desc, m.id desc")
+    List<GroupMessage> findLatestWithSender(@Param("groupId") UUID groupId, Pageable limit);
+
+    @Query("select m from GroupMessage m join fetch m.sender where m.group.id = :groupId " +
+            "and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id)) " +
+            "order by m.createdAt desc, m.id desc")
+    List<GroupMessage> findOlderThanWithSender(@Param("groupId") UUID groupId, @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") UUID id, Pageable limit);
 }
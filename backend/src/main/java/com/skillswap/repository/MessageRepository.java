@@ -1,17 +1,39 @@
 package com.skillswap.repository;
 
 import com.skillswap.entity.Message;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<Message, UUID> {
-    Page<Message> findByConversation_IdOrderByCreatedAtDesc(UUID conversationId, Pageable pageable);
+    Slice<Message> findByConversation_IdOrderByCreatedAtDesc(UUID conversationId, Pageable pageable);
 
-    @Query("select count(m) from Message m where m.conversation.id = :conversationId and m.isRead = false and m.sender.id <> :userId")
-    long countUnread(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId);
+    // Keyset history on (created_at, id), newest first; served by idx_messages_conv_time
+    @Query("select m from Message m where m.conversation.id = :conversationId order by m.createdAt desc, m.id desc")
+    List<Message> findLatest(@Param("conversationId") UUID conversationId, Pageable limit);
+
+    @Query("select m from Message m where m.conversation.id = :conversationId " +
+            "and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id)) " +
+            "order by m.createdAt desc, m.id desc")
+    List<Message> findOlderThan(@Param("conversationId") UUID conversationId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") UUID id, Pageable limit);
+
+    @Query("select max(m.createdAt) from Message m where m.conversation.id = :conversationId")
+    LocalDateTime findLatestCreatedAt(@Param("conversationId") UUID conversationId);
+
+    // Keeps the legacy isRead/readAt columns in step with the watermark in one statement
+    @Transactional
+    @Modifying
+    @Query("update Message m set m.isRead = true, m.readAt = :readAt where m.conversation.id = :conversationId " +
+            "and m.sender.id <> :readerId and m.isRead = false and m.createdAt <= :readUpTo")
+    int markReadUpTo(@Param("conversationId") UUID conversationId, @Param("readerId") UUID readerId,
+                     @Param("readUpTo") LocalDateTime readUpTo, @Param("readAt") LocalDateTime readAt);
 }
@@ -0,0 +1,10 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SkillRepository extends JpaRepository<Skill, Integer> {
+    Optional<Skill> findByNormalizedName(String normalizedName);
+}
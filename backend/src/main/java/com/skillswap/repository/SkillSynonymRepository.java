@@ -0,0 +1,7 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.SkillSynonym;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SkillSynonymRepository extends JpaRepository<SkillSynonym, String> {
+}
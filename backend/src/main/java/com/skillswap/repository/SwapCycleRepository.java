@@ -0,0 +1,22 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.SwapCycle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface SwapCycleRepository extends JpaRepository<SwapCycle, UUID> {
+    @Query("select c from SwapCycle c where c.generation = :generation and (c.userA = :userId or c.userB = :userId or c.userC = :userId)")
+    List<SwapCycle> findForUser(@Param("generation") long generation, @Param("userId") UUID userId);
+
+    // Older generations except `keep`; newer ones (a run still in progress) are never touched
+    @Transactional
+    @Modifying
+    @Query("delete from SwapCycle c where c.generation < :generation and c.generation <> :keep")
+    int deleteOlderGenerations(@Param("generation") long generation, @Param("keep") long keep);
+}
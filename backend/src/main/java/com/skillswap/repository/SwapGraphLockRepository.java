@@ -0,0 +1,24 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.SwapGraphLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface SwapGraphLockRepository extends JpaRepository<SwapGraphLock, Integer> {
+    // 1 when the lease was free (or expired) and is now held by owner
+    @Transactional
+    @Modifying
+    @Query("update SwapGraphLock l set l.lockedUntil = :until, l.owner = :owner " +
+            "where l.id = 1 and (l.lockedUntil is null or l.lockedUntil < :now)")
+    int claim(@Param("owner") String owner, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("update SwapGraphLock l set l.lockedUntil = null, l.owner = null where l.id = 1 and l.owner = :owner")
+    int release(@Param("owner") String owner);
+}
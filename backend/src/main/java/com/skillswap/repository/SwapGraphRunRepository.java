@@ -0,0 +1,21 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.SwapGraphRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SwapGraphRunRepository extends JpaRepository<SwapGraphRun, Long> {
+    @Query("select max(r.generation) from SwapGraphRun r")
+    Long findLatestGeneration();
+
+    @Query("select max(r.generation) from SwapGraphRun r where r.generation < :generation")
+    Long findLatestGenerationBefore(@Param("generation") long generation);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SwapGraphRun r where r.generation < :generation")
+    int deleteOlderThan(@Param("generation") long generation);
+}
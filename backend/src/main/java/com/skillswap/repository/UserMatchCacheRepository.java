@@ -0,0 +1,9 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.UserMatchCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface UserMatchCacheRepository extends JpaRepository<UserMatchCache, UUID> {
+}
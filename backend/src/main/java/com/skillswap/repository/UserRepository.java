@@ -1,13 +1,24 @@
 package com.skillswap.repository;
 
 import com.skillswap.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByEmail(String email);
-    List<User> findTop20ByOrderByPointsDesc();
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
+    // id, name, profilePictureUrl, points, level, rating, completedSessions; highest points first
+    @Query("select u.id, u.name, u.profilePictureUrl, coalesce(u.points, 0), u.level, us.rating, us.completedSessions " +
+            "from User u left join UserSkills us on us.user = u order by coalesce(u.points, 0) desc, u.id")
+    List<Object[]> findLeaderboardRows(Pageable limit);
+
+    @Query("select u.id, u.points from User u where u.points > 0")
+    List<Object[]> findPositivePoints();
+
+    @Query("select coalesce(u.tokenVersion, 0) from User u where u.id = :id")
+    Optional<Integer> findTokenVersion(@Param("id") UUID id);
 }
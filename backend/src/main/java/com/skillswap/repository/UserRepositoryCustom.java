@@ -0,0 +1,9 @@
+package com.skillswap.repository;
+
+import com.skillswap.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByEmail(String email);
+}
@@ -1,14 +1,42 @@
 package com.skillswap.repository;
 
 import com.skillswap.entity.UserSkills;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserSkillsRepository extends JpaRepository<UserSkills, UUID> {
     @Query("select us from UserSkills us where us.user.id = :userId")
     Optional<UserSkills> findByUserId(@Param("userId") UUID userId);
+
+    @Query("select us from UserSkills us join fetch us.user u where u.id in :userIds")
+    List<UserSkills> findByUserIdInWithUser(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("select distinct us from UserSkills us left join fetch us.offeredSkillIds left join fetch us.wantedSkillIds where us.user.id = :userId")
+    Optional<UserSkills> findByUserIdWithSkillIds(@Param("userId") UUID userId);
+
+    @Query("select us.user.id, s, index(s) from UserSkills us join us.offeredSkillIds s")
+    List<Object[]> findAllOfferedSkillIds();
+
+    @Query("select us.user.id, s, index(s) from UserSkills us join us.wantedSkillIds s")
+    List<Object[]> findAllWantedSkillIds();
+
+    @Query("select us.user.id, us.rating, us.completedSessions, us.user.level, us.availabilityMask from UserSkills us")
+    List<Object[]> findAllMatchStats();
+
+    @Query("select us.user.id from UserSkills us order by us.user.id")
+    List<UUID> findUserIdsOrdered(Pageable page);
+
+    @Query("select us.user.id from UserSkills us where us.user.id > :after order by us.user.id")
+    List<UUID> findUserIdsAfter(@Param("after") UUID after, Pageable page);
+
+    @Query("select us from UserSkills us where us.offeredSkillIds is empty and us.wantedSkillIds is empty " +
+            "and (us.skillsOffered not in ('', '[]') or us.skillsWanted not in ('', '[]'))")
+    List<UserSkills> findWithLegacySkillsOnly();
 }
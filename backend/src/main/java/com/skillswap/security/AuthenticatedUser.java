@@ -0,0 +1,53 @@
+package com.skillswap.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+// The request's principal. Carries the user id so controllers never look the user up by email;
+// built from the JWT's signed claims, or from the database on login. Password is null when built from a token,
+// and is left out of toString/equals so the hash never reaches logs and both forms compare equal.
+public record AuthenticatedUser(UUID id, String email, String password, List<String> roles) implements UserDetails {
+
+    public static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+
+    public AuthenticatedUser(UUID id, String email, String password) {
+        this(id, email, password, DEFAULT_ROLES);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthenticatedUser other
+                && Objects.equals(id, other.id) && Objects.equals(email, other.email) && Objects.equals(roles, other.roles);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, email, roles);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + ", roles=" + roles + "]";
+    }
+}
@@ -3,28 +3,54 @@ package com.skillswap.security;
 import com.skillswap.entity.User;
 import com.skillswap.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    // Stateless mode trusts the signed claims and only checks the (cached) token version;
+    // otherwise every request also loads the user
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_USER"))
-        );
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword());
+    }
+
+    // The principal for a token, or null when the token is invalid, expired or revoked
+    public UserDetails loadUserByToken(String token) {
+        VerifiedToken t = jwtUtil.verify(token);
+        if (t == null) return null;
+        // Tokens issued before the uid claim are resolved through the database and count as version 0,
+        // so they stop working once the user logs out
+        if (t.userId() == null) {
+            AuthenticatedUser user;
+            try {
+                user = (AuthenticatedUser) loadUserByUsername(t.email());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+            return tokenVersionService.isCurrent(user.id(), t.version()) ? user : null;
+        }
+        if (!tokenVersionService.isCurrent(t.userId(), t.version())) return null;
+        return stateless
+                ? new AuthenticatedUser(t.userId(), t.email(), null, t.roles())
+                : loadUserByUsername(t.email());
     }
 }
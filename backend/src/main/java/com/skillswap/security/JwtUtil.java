@@ -1,50 +1,117 @@
 package com.skillswap.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int verifiedCacheMaxEntries;
+
+    private SecretKey key;
+    private JwtParser parser;
+
+    // SHA-256 of the token -> its verified claims, so a token seen before skips signature checking and JSON
+    // parsing; entries are dropped once the token expires
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
     }
 
-    public String generateToken(String email) {
+    // uid, roles and ver let requests authenticate without loading the user; ver is checked against
+    // the user's current token version so revoked tokens are refused
+    public String generateToken(String email, UUID userId, Integer tokenVersion) {
         Date now = new Date();
         Date exp = new Date(System.currentTimeMillis() + expiration);
         return Jwts.builder()
                 .subject(email)
+                .claim(USER_ID_CLAIM, userId.toString())
+                .claim(ROLES_CLAIM, AuthenticatedUser.DEFAULT_ROLES)
+                .claim(VERSION_CLAIM, tokenVersion == null ? 0 : tokenVersion)
                 .issuedAt(now)
                 .expiration(exp)
-                .signWith(getKey())
+                .signWith(key)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        Claims claims = Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
-        return claims.getSubject();
+    // The token's claims, or null when it is malformed, forged or expired
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) return cached;
+            verified.remove(digest);
+            return null;
+        }
+        VerifiedToken parsed;
+        try {
+            parsed = toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (verified.size() >= verifiedCacheMaxEntries) evict(now);
+        verified.put(digest, parsed);
+        return parsed;
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        String uid = claims.get(USER_ID_CLAIM, String.class);
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        Date exp = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                uid == null ? null : UUID.fromString(uid),
+                version == null ? 0 : version,
+                roles == null ? AuthenticatedUser.DEFAULT_ROLES : roles.stream().map(String::valueOf).toList(),
+                exp == null ? Long.MAX_VALUE : exp.getTime()
+        );
+    }
+
+    // Expired entries first; if the cache is still full it starts over
+    private void evict(long now) {
+        verified.values().removeIf(t -> t.expiresAtMillis() <= now);
+        if (verified.size() >= verifiedCacheMaxEntries) verified.clear();
     }
 
-    public boolean validateToken(String token) {
+    private static String digest(String token) {
         try {
-            Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -7,6 +7,7 @@ import com.skillswap.entity.UserSkills;
 import com.skillswap.repository.OAuthAccountRepository;
 import com.skillswap.repository.UserRepository;
 import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.LeaderboardService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -39,6 +40,9 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @Autowired
     private UserSkillsRepository userSkillsRepository;
 
@@ -73,7 +77,9 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
             u.setEmail(email);
             u.setName(name != null ? name : email);
             u.setProfilePictureUrl("https://api.dicebear.com/7.x/avataaars/svg?seed=" + (name != null ? name : email));
-            return userRepository.save(u);
+            u = userRepository.save(u);
+            leaderboardService.userAdded(u);
+            return u;
         });
 
         userSkillsRepository.findByUserId(user.getId()).orElseGet(() -> {
@@ -109,7 +115,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
             }
         }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
         ResponseCookie cookie = ResponseCookie.from("SS_TOKEN", token)
                 .httpOnly(true)
                 .secure(false)
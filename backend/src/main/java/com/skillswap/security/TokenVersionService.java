@@ -0,0 +1,61 @@
+package com.skillswap.security;
+
+import com.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-user token version: every JWT carries the version current when it was issued, and revoking bumps it,
+// so all earlier tokens stop working. Versions are cached for ttl-seconds; the node that revokes evicts at once,
+// other nodes pick the new version up when their entry expires.
+@Service
+public class TokenVersionService {
+
+    private record Cached(Integer version, long expiresAt) {}
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.version-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${jwt.version-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<UUID, Cached> versions = new ConcurrentHashMap<>();
+
+    // False for tokens of deleted users as well
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        Integer current = currentVersion(userId);
+        return current != null && current == tokenVersion;
+    }
+
+    // Null when the user no longer exists
+    public Integer currentVersion(UUID userId) {
+        long now = System.currentTimeMillis();
+        Cached c = versions.get(userId);
+        if (c != null && c.expiresAt() > now) return c.version();
+        Optional<Integer> loaded = userRepository.findTokenVersion(userId);
+        if (versions.size() >= maxEntries) versions.clear();
+        versions.put(userId, new Cached(loaded.orElse(null), now + ttlSeconds * 1000));
+        return loaded.orElse(null);
+    }
+
+    // Invalidates every token issued to the user so far. Goes through the entity rather than a bulk update,
+    // which would invalidate the whole users cache region instead of this one user's entry. The local entry
+    // is evicted after commit so a concurrent check can't cache the old version again.
+    public void revoke(UUID userId) {
+        transactionTemplate.executeWithoutResult(tx -> userRepository.findById(userId).ifPresent(u ->
+                u.setTokenVersion((u.getTokenVersion() == null ? 0 : u.getTokenVersion()) + 1)));
+        versions.remove(userId);
+    }
+}
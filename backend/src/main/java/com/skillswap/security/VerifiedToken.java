@@ -0,0 +1,8 @@
+package com.skillswap.security;
+
+import java.util.List;
+import java.util.UUID;
+
+// Claims of a JWT whose signature and expiry have been checked. userId is null for tokens issued
+// before the uid claim; version is 0 for tokens issued before token versions.
+public record VerifiedToken(String email, UUID userId, int version, List<String> roles, long expiresAtMillis) {}
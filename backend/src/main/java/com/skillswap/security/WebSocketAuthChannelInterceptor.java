@@ -1,7 +1,7 @@
 package com.skillswap.security;
 
-import com.skillswap.repository.GroupMemberRepository;
 import com.skillswap.repository.UserRepository;
+import com.skillswap.service.GroupMembershipCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -10,54 +10,47 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
     @Autowired(required = false)
-    private GroupMemberRepository groupMemberRepository;
+    private GroupMembershipCache groupMembershipCache;
 
     @Autowired(required = false)
     private UserRepository userRepository;
 
+    // Session attribute holding the authenticated user's id, resolved once per STOMP session
+    private static final String USER_ID_ATTR = "skillswap.userId";
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
         if (accessor != null && (StompCommand.CONNECT.equals(accessor.getCommand()) || StompCommand.SUBSCRIBE.equals(accessor.getCommand()))) {
-            String authHeader = accessor.getFirstNativeHeader("Authorization");
-            String token = null;
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-            }
-            if (token == null) {
-                token = accessor.getFirstNativeHeader("token");
-            }
-            if (token != null && jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractEmail(token);
-                UserDetails ud = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(ud.getUsername(), null, ud.getAuthorities());
-                accessor.setUser(auth);
+            // The principal set on CONNECT is carried on every later frame of the session, so a SUBSCRIBE
+            // only authenticates again when the client skipped the token on CONNECT
+            if (StompCommand.CONNECT.equals(accessor.getCommand()) || accessor.getUser() == null) {
+                authenticate(accessor);
             }
             if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
                 String dest = accessor.getDestination();
-                if (dest != null && dest.startsWith("/topic/group/") && groupMemberRepository != null) {
+                if (dest != null && dest.startsWith("/topic/group/") && groupMembershipCache != null) {
                     try {
                         String rest = dest.substring("/topic/group/".length());
                         String idOnly = rest.contains("/") ? rest.substring(0, rest.indexOf('/')) : rest;
                         UUID gid = UUID.fromString(idOnly);
                         String name = accessor.getUser() == null ? null : accessor.getUser().getName();
                         if (name != null) {
-                            boolean allowed = groupMemberRepository.existsByGroupIdAndUserEmail(gid, name);
+                            boolean allowed = groupMembershipCache.isMember(gid, name);
                             if (!allowed) return null;
                         } else {
                             return null;
@@ -66,14 +59,12 @@ public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
                         return null;
                     }
                 }
-                if (dest != null && dest.startsWith("/queue/user/")) {
+                if (dest != null && dest.startsWith("/topic/user.")) {
                     try {
-                        String idStr = dest.substring("/queue/user/".length());
+                        String idStr = dest.substring("/topic/user.".length());
                         java.util.UUID uid = java.util.UUID.fromString(idStr);
-                        String principalEmail = accessor.getUser() == null ? null : accessor.getUser().getName();
-                        if (principalEmail == null || userRepository == null) return null;
-                        var me = userRepository.findByEmail(principalEmail).orElse(null);
-                        if (me == null || !me.getId().equals(uid)) return null;
+                        UUID me = userId(accessor);
+                        if (me == null || !me.equals(uid)) return null;
                     } catch (Exception e) {
                         return null;
                     }
@@ -82,4 +73,33 @@ public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
         }
         return message;
     }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        String token = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        }
+        if (token == null) {
+            token = accessor.getFirstNativeHeader("token");
+        }
+        UserDetails ud = token == null ? null : userDetailsService.loadUserByToken(token);
+        if (ud == null) return;
+        // getName() stays the email; the AuthenticatedUser principal carries the id
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
+        accessor.setUser(auth);
+        Map<String, Object> session = accessor.getSessionAttributes();
+        if (session != null) session.remove(USER_ID_ATTR);
+    }
+
+    private UUID userId(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof Authentication a && a.getPrincipal() instanceof AuthenticatedUser user) return user.id();
+        String principalEmail = accessor.getUser() == null ? null : accessor.getUser().getName();
+        if (principalEmail == null || userRepository == null) return null;
+        Map<String, Object> session = accessor.getSessionAttributes();
+        if (session != null && session.get(USER_ID_ATTR) instanceof UUID cached) return cached;
+        UUID id = userRepository.findByEmail(principalEmail).map(u -> u.getId()).orElse(null);
+        if (id != null && session != null) session.put(USER_ID_ATTR, id);
+        return id;
+    }
 }
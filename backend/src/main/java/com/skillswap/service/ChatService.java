@@ -1,6 +1,7 @@
 package com.skillswap.service;
 
 import com.skillswap.dto.ConversationDTO;
+import com.skillswap.dto.CursorPageDTO;
 import com.skillswap.dto.MessageDTO;
 import com.skillswap.entity.Conversation;
 import com.skillswap.entity.Message;
@@ -9,15 +10,22 @@ import com.skillswap.repository.ConversationRepository;
 import com.skillswap.repository.MessageRepository;
 import com.skillswap.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +36,17 @@ public class ChatService {
     @Autowired private MessageRepository messageRepository;
     @Autowired private UserRepository userRepository;
     @Autowired(required = false) private SimpMessagingTemplate messagingTemplate;
+    @Autowired private MessageWriteBehind messageWriteBehind;
+    @Autowired private ConversationTailCache tailCache;
+
+    private static final int MAX_CACHED_CONVERSATIONS = 10_000;
+
+    private final Map<UUID, Participants> participantsByConversation = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Participants> eldest) {
+            return size() > MAX_CACHED_CONVERSATIONS;
+        }
+    };
 
     private String pairKey(UUID a, UUID b) {
         String s1 = a.toString();
@@ -47,21 +66,88 @@ public class ChatService {
             c.setPairKey(key);
             return conversationRepository.save(c);
         });
-        return toDto(conv, me);
+        return toDto(conv, me.getId());
     }
 
     public List<ConversationDTO> listForUser(UUID meId) {
-        User me = userRepository.findById(meId).orElseThrow();
-        List<Conversation> list = conversationRepository.findByUser1_IdOrUser2_IdOrderByLastMessageTimeDesc(me.getId(), me.getId());
-        return list.stream().map(c -> toDto(c, me)).toList();
+        return conversationRepository.findInboxRows(meId).stream().map(r -> new ConversationDTO(
+                (UUID) r[0],
+                (UUID) r[1],
+                (String) r[2],
+                (String) r[3],
+                formatTime((LocalDateTime) r[4]),
+                (String) r[5],
+                r[6] == null ? 0 : ((Number) r[6]).longValue()
+        )).toList();
     }
 
-    public Page<MessageDTO> messages(UUID convId, int page, int size) {
+    // Offset paging kept for existing clients; a Slice skips the COUNT query a Page needs.
+    // The first page comes from the tail cache when it fits.
+    public Slice<MessageDTO> messages(UUID convId, UUID meId, int page, int size) {
+        requireParticipant(convId, meId);
         Pageable pageable = PageRequest.of(page, Math.min(size, 50), Sort.by(Sort.Direction.DESC, "createdAt"));
-        return messageRepository.findByConversation_IdOrderByCreatedAtDesc(convId, pageable).map(this::toDto);
+        if (page == 0 && pageable.getPageSize() <= tailCache.tailSize()) {
+            ConversationTailCache.Tail tail = tailCache.get(convId, () -> loadTail(convId));
+            List<MessageDTO> items = tail.messages().subList(0, Math.min(pageable.getPageSize(), tail.messages().size()));
+            return new SliceImpl<>(items, pageable, tail.messages().size() > items.size() || tail.hasMore());
+        }
+        Conversation conv = conversationRepository.findById(convId).orElseThrow();
+        return messageRepository.findByConversation_IdOrderByCreatedAtDesc(convId, pageable).map(m -> toDto(m, conv));
+    }
+
+    // Newest first; each page seeks past the cursor instead of skipping rows, so deep scrolls cost the same
+    public CursorPageDTO<MessageDTO> history(UUID convId, UUID meId, String cursor, int size) {
+        requireParticipant(convId, meId);
+        int limit = Math.max(1, Math.min(size, 50));
+        if ((cursor == null || cursor.isBlank()) && limit <= tailCache.tailSize()) {
+            ConversationTailCache.Tail tail = tailCache.get(convId, () -> loadTail(convId));
+            List<MessageDTO> items = tail.messages().subList(0, Math.min(limit, tail.messages().size()));
+            String next = null;
+            if (tail.messages().size() > items.size() || tail.hasMore()) {
+                MessageDTO last = items.get(items.size() - 1);
+                // Appended messages carry nanos the database column does not keep
+                next = new MessageCursor(LocalDateTime.parse(last.createdAt()).truncatedTo(ChronoUnit.MICROS), last.id()).encode();
+            }
+            return new CursorPageDTO<>(items, next);
+        }
+        Conversation conv = conversationRepository.findById(convId).orElseThrow();
+        // One extra row tells us whether an older page exists
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<Message> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = messageRepository.findLatest(convId, fetch);
+        } else {
+            MessageCursor c = MessageCursor.decode(cursor);
+            rows = messageRepository.findOlderThan(convId, c.createdAt(), c.id(), fetch);
+        }
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Message last = rows.get(limit - 1);
+            next = new MessageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(rows.stream().map(m -> toDto(m, conv)).toList(), next);
+    }
+
+    // Messages still in the write-behind buffer belong in the tail too, or they would vanish until flushed
+    private ConversationTailCache.Loaded loadTail(UUID convId) {
+        Conversation conv = conversationRepository.findById(convId).orElseThrow();
+        int n = tailCache.tailSize();
+        List<MessageWriteBehind.PendingMessage> pending = messageWriteBehind.pending(convId);
+        List<Message> rows = messageRepository.findLatest(convId, PageRequest.of(0, n + 1));
+        Map<UUID, MessageDTO> byId = new LinkedHashMap<>();
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            MessageWriteBehind.PendingMessage m = pending.get(i);
+            LocalDateTime watermark = conv.getUser1().getId().equals(m.senderId()) ? conv.getUser2LastReadAt() : conv.getUser1LastReadAt();
+            byId.put(m.id(), toDto(m, watermark != null && !m.createdAt().isAfter(watermark)));
+        }
+        for (Message m : rows) byId.putIfAbsent(m.getId(), toDto(m, conv));
+        List<MessageDTO> items = byId.values().stream().limit(n).toList();
+        return new ConversationTailCache.Loaded(items, byId.size() > n);
     }
 
     public MessageDTO send(UUID convId, UUID senderId, String text) {
+        if (messageWriteBehind.isEnabled()) return sendBuffered(convId, senderId, text);
         Conversation conv = conversationRepository.findById(convId).orElseThrow();
         if (text == null || text.isBlank()) throw new IllegalArgumentException("Message cannot be empty");
         User sender = userRepository.findById(senderId).orElseThrow();
@@ -73,14 +159,63 @@ public class ChatService {
         m.setSender(sender);
         m.setMessageText(text.trim());
         m = messageRepository.save(m);
-        conv.setLastMessageTime(java.time.LocalDateTime.now());
-        conversationRepository.save(conv);
 
         UUID recipient = conv.getUser1().getId().equals(senderId) ? conv.getUser2().getId() : conv.getUser1().getId();
+        conversationRepository.recordMessages(convId, recipient, List.of(m.getId()), LocalDateTime.now(), Conversation.preview(m.getMessageText()));
+        MessageDTO dto = toDto(m, conv);
+        tailCache.append(convId, dto);
+        if (messagingTemplate != null) {
+            messagingTemplate.convertAndSend(userTopic(recipient), dto);
+        }
+        return dto;
+    }
+
+    // Write-behind: no database round-trip on the send path once the conversation's participants are cached
+    private MessageDTO sendBuffered(UUID convId, UUID senderId, String text) {
+        if (text == null || text.isBlank()) throw new IllegalArgumentException("Message cannot be empty");
+        Participants p = participants(convId);
+        if (!p.user1().equals(senderId) && !p.user2().equals(senderId)) {
+            throw new SecurityException("Not part of conversation");
+        }
+        UUID recipient = p.user1().equals(senderId) ? p.user2() : p.user1();
+        MessageWriteBehind.PendingMessage m = new MessageWriteBehind.PendingMessage(
+                UUID.randomUUID(), convId, senderId, recipient, text.trim(), LocalDateTime.now());
+        MessageDTO dto = toDto(m, false);
         if (messagingTemplate != null) {
-            messagingTemplate.convertAndSend("/queue/user/" + recipient, toDto(m));
+            messagingTemplate.convertAndSend(userTopic(recipient), dto);
+        }
+        messageWriteBehind.append(m);
+        tailCache.append(convId, dto);
+        return dto;
+    }
+
+    // A topic rather than /queue/...: on a relay broker queues are point-to-point, so a user's second tab or
+    // device would only get every other message
+    public static String userTopic(UUID userId) {
+        return "/topic/user." + userId;
+    }
+
+    private record Participants(UUID user1, UUID user2) {}
+
+    // Participants never change, so they can be cached without invalidation
+    private Participants participants(UUID convId) {
+        synchronized (participantsByConversation) {
+            Participants p = participantsByConversation.get(convId);
+            if (p != null) return p;
+        }
+        Conversation c = conversationRepository.findById(convId).orElseThrow();
+        Participants p = new Participants(c.getUser1().getId(), c.getUser2().getId());
+        synchronized (participantsByConversation) {
+            participantsByConversation.put(convId, p);
+        }
+        return p;
+    }
+
+    private void requireParticipant(UUID convId, UUID userId) {
+        Participants p = participants(convId);
+        if (!p.user1().equals(userId) && !p.user2().equals(userId)) {
+            throw new SecurityException("Not part of conversation");
         }
-        return toDto(m);
     }
 
     public void markRead(UUID convId, UUID meId) {
@@ -88,42 +223,70 @@ public class ChatService {
         if (!conv.getUser1().getId().equals(meId) && !conv.getUser2().getId().equals(meId)) {
             throw new SecurityException("Not part of conversation");
         }
-        // naive mark: fetch last 100 and mark unread from other as read
-        Page<Message> page = messageRepository.findByConversation_IdOrderByCreatedAtDesc(convId, PageRequest.of(0, 100));
-        page.getContent().forEach(m -> {
-            if (!m.getSender().getId().equals(meId) && (m.getIsRead() == null || !m.getIsRead())) {
-                m.setIsRead(true);
-                m.setReadAt(java.time.LocalDateTime.now());
-            }
-        });
-        messageRepository.saveAll(page.getContent());
+        // Everything up to the newest message is read, however long the backlog, including messages the
+        // reader has been shown that are still waiting in the write-behind buffer
+        LocalDateTime readUpTo = messageRepository.findLatestCreatedAt(convId);
+        List<MessageWriteBehind.PendingMessage> pending = messageWriteBehind.pending(convId);
+        if (!pending.isEmpty()) {
+            LocalDateTime newestPending = pending.get(pending.size() - 1).createdAt();
+            if (readUpTo == null || newestPending.isAfter(readUpTo)) readUpTo = newestPending;
+        }
+        if (readUpTo == null) return;
+        conversationRepository.markRead(convId, meId, readUpTo);
+        messageRepository.markReadUpTo(convId, meId, readUpTo, LocalDateTime.now());
+        tailCache.invalidate(convId);
     }
 
     public long unreadCount(UUID convId, UUID meId) {
-        return messageRepository.countUnread(convId, meId);
+        Conversation c = conversationRepository.findById(convId).orElseThrow();
+        return unreadFor(c, meId);
     }
 
-    private ConversationDTO toDto(Conversation c, User me) {
-        User other = c.getUser1().getId().equals(me.getId()) ? c.getUser2() : c.getUser1();
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillReadState() {
+        conversationRepository.backfillUnreadCounters();
+        conversationRepository.backfillReadWatermarks();
+        conversationRepository.backfillLastMessagePreviews();
+    }
+
+    private static long unreadFor(Conversation c, UUID meId) {
+        Integer n = c.getUser1().getId().equals(meId) ? c.getUser1Unread() : c.getUser2Unread();
+        return n == null ? 0 : n;
+    }
+
+    private ConversationDTO toDto(Conversation c, UUID meId) {
+        User other = c.getUser1().getId().equals(meId) ? c.getUser2() : c.getUser1();
         return new ConversationDTO(
                 c.getId(),
                 other.getId(),
                 other.getName(),
                 other.getProfilePictureUrl(),
-                c.getLastMessageTime() == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(c.getLastMessageTime()),
-                messageRepository.countUnread(c.getId(), me.getId())
+                formatTime(c.getLastMessageTime()),
+                c.getLastMessagePreview(),
+                unreadFor(c, meId)
         );
     }
 
-    private MessageDTO toDto(Message m) {
+    private static String formatTime(LocalDateTime t) {
+        return t == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(t);
+    }
+
+    // Read state comes from the recipient's watermark rather than the per-message flag
+    private MessageDTO toDto(Message m, Conversation c) {
+        LocalDateTime watermark = c.getUser1().getId().equals(m.getSender().getId()) ? c.getUser2LastReadAt() : c.getUser1LastReadAt();
         return new MessageDTO(
                 m.getId(),
                 m.getConversation().getId(),
                 m.getSender().getId(),
                 m.getMessageText(),
-                Boolean.TRUE.equals(m.getIsRead()),
+                watermark != null && m.getCreatedAt() != null && !m.getCreatedAt().isAfter(watermark),
                 m.getCreatedAt() == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(m.getCreatedAt()),
                 m.getReadAt() == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(m.getReadAt())
         );
     }
+
+    private static MessageDTO toDto(MessageWriteBehind.PendingMessage m, boolean read) {
+        return new MessageDTO(m.id(), m.conversationId(), m.senderId(), m.text(), read,
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(m.createdAt()), null);
+    }
 }
@@ -0,0 +1,121 @@
+package com.skillswap.service;
+
+import com.skillswap.dto.MessageDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+// Newest messages of recently active conversations, newest first, so the first page of a conversation
+// is served without a query. LRU over conversations, each tail capped at tail-size messages.
+@Component
+public class ConversationTailCache {
+
+    public record Tail(List<MessageDTO> messages, boolean hasMore) {}
+
+    // Snapshot of the DB read used to fill a tail; hasMore means older messages exist beyond these
+    public record Loaded(List<MessageDTO> messages, boolean hasMore) {}
+
+    private static final class Entry {
+        final ArrayDeque<MessageDTO> messages = new ArrayDeque<>();
+        boolean hasMore;
+        boolean loaded;
+        boolean stale; // changed while its first load was in flight
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.tail-cache.conversations:1000}")
+    private int maxConversations;
+
+    @Value("${chat.tail-cache.tail-size:50}")
+    private int tailSize;
+
+    private Map<UUID, Entry> entries;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxConversations;
+            }
+        };
+        hits = Counter.builder("chat.tail.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("chat.tail.cache.requests").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("chat.tail.cache.hit.ratio", this, c -> {
+            double total = c.hits.count() + c.misses.count();
+            return total == 0 ? 0 : c.hits.count() / total;
+        });
+        meterRegistry.gauge("chat.tail.cache.conversations", this, c -> c.size());
+    }
+
+    public int tailSize() {
+        return tailSize;
+    }
+
+    // Cached tail, or the loader's result after caching it. A send racing with the load leaves it uncached.
+    public Tail get(UUID conversationId, Supplier<Loaded> loader) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(conversationId);
+            if (entry != null && entry.loaded) {
+                hits.increment();
+                return new Tail(List.copyOf(entry.messages), entry.hasMore);
+            }
+            misses.increment();
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(conversationId, entry);
+            }
+        }
+        Loaded loaded = loader.get();
+        synchronized (this) {
+            if (entries.get(conversationId) == entry && !entry.loaded) {
+                if (entry.stale) {
+                    entries.remove(conversationId);
+                } else {
+                    entry.messages.addAll(loaded.messages().subList(0, Math.min(tailSize, loaded.messages().size())));
+                    entry.hasMore = loaded.hasMore() || loaded.messages().size() > tailSize;
+                    entry.loaded = true;
+                }
+            }
+        }
+        return new Tail(loaded.messages(), loaded.hasMore());
+    }
+
+    // New message in a conversation; only conversations already cached are updated
+    public synchronized void append(UUID conversationId, MessageDTO message) {
+        Entry entry = entries.get(conversationId);
+        if (entry == null) return;
+        if (!entry.loaded) {
+            entry.stale = true;
+            return;
+        }
+        entry.messages.addFirst(message);
+        if (entry.messages.size() > tailSize) {
+            entry.messages.removeLast();
+            entry.hasMore = true;
+        }
+    }
+
+    // Read state is part of each cached MessageDTO
+    public synchronized void invalidate(UUID conversationId) {
+        Entry entry = entries.get(conversationId);
+        if (entry == null) return;
+        if (entry.loaded) entries.remove(conversationId);
+        else entry.stale = true;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+}
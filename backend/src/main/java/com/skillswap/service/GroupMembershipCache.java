@@ -0,0 +1,63 @@
+package com.skillswap.service;
+
+import com.skillswap.repository.GroupMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Short-lived (groupId, email) -> is member decisions for WebSocket subscriptions, so reconnect storms
+// don't turn into one membership query per SUBSCRIBE. Denials are cached too; join/leave/delete evict the group.
+@Component
+public class GroupMembershipCache {
+
+    private record Decision(boolean member, long expiresAt) {}
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Value("${websocket.membership-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${websocket.membership-cache.max-entries:50000}")
+    private int maxEntries;
+
+    private final Map<UUID, Map<String, Decision>> byGroup = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidate; a decision read from the database before a bump is not cached
+    private final Map<UUID, Long> stamps = new ConcurrentHashMap<>();
+
+    public boolean isMember(UUID groupId, String email) {
+        long now = System.currentTimeMillis();
+        Map<String, Decision> decisions = byGroup.get(groupId);
+        Decision d = decisions == null ? null : decisions.get(email);
+        if (d != null && d.expiresAt() > now) return d.member();
+        long stamp = stamps.getOrDefault(groupId, 0L);
+        boolean member = groupMemberRepository.existsByGroupIdAndUserEmail(groupId, email);
+        if (size() >= maxEntries) byGroup.clear();
+        // Same key as invalidate, so the stamp check and the put can't interleave with it
+        byGroup.compute(groupId, (k, current) -> {
+            if (stamps.getOrDefault(groupId, 0L) != stamp) return current;
+            Map<String, Decision> m = current == null ? new ConcurrentHashMap<>() : current;
+            m.put(email, new Decision(member, now + ttlSeconds * 1000));
+            return m;
+        });
+        return member;
+    }
+
+    public void invalidate(UUID groupId) {
+        byGroup.compute(groupId, (k, current) -> {
+            stamps.merge(groupId, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private int size() {
+        int n = 0;
+        for (Map<String, Decision> decisions : byGroup.values()) n += decisions.size();
+        return n;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillswap.service;
 
+import com.skillswap.dto.CursorPageDTO;
 import com.skillswap.dto.GroupDTO;
 import com.skillswap.dto.GroupMessageDTO;
 import com.skillswap.dto.GroupMemberDTO;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.NoSuchElementException;
 import com.skillswap.dto.GroupSessionDTO;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ public class GroupService {
     @Autowired private GroupSessionRepository groupSessionRepo;
     @Autowired private GroupResourceLinkRepository groupResourceRepo;
     @Autowired private ResourceItemRepository resourceItemRepo;
+    @Autowired private GroupMembershipCache membershipCache;
 
     public GroupDTO create(UUID creatorId, String name, String description, String relatedSkill, int maxMembers, boolean isPrivate) {
         User creator = userRepo.findById(creatorId).orElseThrow();
@@ -74,6 +77,7 @@ public class GroupService {
         memberRepo.save(gm);
         g.setMemberCount(g.getMemberCount() + 1);
         groupRepo.save(g);
+        membershipCache.invalidate(groupId);
     }
 
     public void leave(UUID groupId, UUID userId) {
@@ -83,6 +87,7 @@ public class GroupService {
         memberRepo.deleteAll(members);
         g.setMemberCount(Math.max(0, g.getMemberCount() - members.size()));
         groupRepo.save(g);
+        membershipCache.invalidate(groupId);
     }
 
     public void delete(UUID groupId, UUID requesterId) {
@@ -90,6 +95,7 @@ public class GroupService {
         boolean isAdmin = memberRepo.findAll().stream().anyMatch(m -> m.getGroup().getId().equals(groupId) && m.getUser().getId().equals(requesterId) && m.getRole() == GroupRole.ADMIN);
         if (!isAdmin) throw new SecurityException("Only admins can delete the group");
         groupRepo.deleteById(groupId);
+        membershipCache.invalidate(groupId);
     }
 
     @Transactional(readOnly = true)
@@ -99,6 +105,29 @@ public class GroupService {
         return list.stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    // Newest first, seeking past the cursor, so history is not limited to the latest 50
+    @Transactional(readOnly = true)
+    public CursorPageDTO<GroupMessageDTO> messageHistory(UUID groupId, UUID userId, String cursor, int size) {
+        if (!groupRepo.existsById(groupId)) throw new NoSuchElementException("Group not found");
+        if (!memberRepo.existsByGroup_IdAndUser_Id(groupId, userId)) throw new SecurityException("Not a member");
+        int limit = Math.max(1, Math.min(size, 50));
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<GroupMessage> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = messageRepo.findLatestWithSender(groupId, fetch);
+        } else {
+            MessageCursor c = MessageCursor.decode(cursor);
+            rows = messageRepo.findOlderThanWithSender(groupId, c.createdAt(), c.id(), fetch);
+        }
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            GroupMessage last = rows.get(limit - 1);
+            next = new MessageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(rows.stream().map(this::toDto).toList(), next);
+    }
+
     public GroupMessageDTO postMessage(UUID groupId, UUID senderId, String text) {
         StudyGroup g = groupRepo.findById(groupId).orElseThrow();
         if (!memberRepo.existsByGroup_IdAndUser_Id(groupId, senderId)) throw new SecurityException("Not a member");
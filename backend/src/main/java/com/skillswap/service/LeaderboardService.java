@@ -0,0 +1,217 @@
+package com.skillswap.service;
+
+import com.skillswap.dto.LeaderboardItemDTO;
+import com.skillswap.entity.User;
+import com.skillswap.entity.UserSkills;
+import com.skillswap.repository.UserRepository;
+import com.skillswap.repository.UserSkillsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+// The global leaderboard kept in memory: the top `size` users as a sorted set, plus a Fenwick tree of
+// point counts over every user with points so any user's rank is one prefix sum. Loaded on first use with
+// one joined query (plus the points of users above zero), then kept current by the registration, points,
+// profile and stats hooks; a periodic reload picks up changes made by other instances.
+@Service
+public class LeaderboardService {
+
+    private static final Comparator<LeaderboardItemDTO> ORDER =
+            Comparator.comparing(LeaderboardItemDTO::points, Comparator.reverseOrder())
+                    .thenComparing(LeaderboardItemDTO::id);
+
+    // Counts of users by point value, indexed from 1 (slot points + 1)
+    private static final class PointsTree {
+        final int[] counts;
+        int total;
+
+        PointsTree(int capacity) {
+            counts = new int[capacity + 1];
+        }
+
+        int capacity() {
+            return counts.length - 1;
+        }
+
+        void add(int points, int delta) {
+            for (int i = points + 1; i < counts.length; i += i & -i) counts[i] += delta;
+            total += delta;
+        }
+
+        int countAbove(int points) {
+            int atMost = 0;
+            for (int i = Math.min(points + 1, capacity()); i > 0; i -= i & -i) atMost += counts[i];
+            return total - atMost;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillsRepository userSkillsRepository;
+
+    @Value("${leaderboard.size:20}")
+    private int size;
+
+    // Guarded by this
+    private final TreeSet<LeaderboardItemDTO> top = new TreeSet<>(ORDER);
+    private final Map<UUID, LeaderboardItemDTO> topById = new HashMap<>();
+    private final Map<UUID, Integer> points = new HashMap<>(); // users with more than zero points
+    private PointsTree tree = new PointsTree(1024);
+
+    private volatile boolean loaded;
+    private volatile List<LeaderboardItemDTO> snapshot = List.of();
+
+    public List<LeaderboardItemDTO> top() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) return load();
+            }
+        }
+        return snapshot;
+    }
+
+    // 1 + the number of users with strictly more points, so tied users share a rank
+    public int rank(UUID userId) {
+        top();
+        synchronized (this) {
+            return 1 + tree.countAbove(points.getOrDefault(userId, 0));
+        }
+    }
+
+    public synchronized int points(UUID userId) {
+        top();
+        return points.getOrDefault(userId, 0);
+    }
+
+    // New users start at zero points; they only make the board while it has free places
+    public void userAdded(User user) {
+        pointsChanged(user);
+    }
+
+    public synchronized void pointsChanged(User user) {
+        if (!loaded) return;
+        UUID id = user.getId();
+        int p = user.getPoints() == null ? 0 : user.getPoints();
+        Integer previous = p > 0 ? points.put(id, p) : points.remove(id);
+        if (previous != null) tree.add(previous, -1);
+        if (p > 0) {
+            if (p >= tree.capacity()) rebuildTree(p);
+            else tree.add(p, 1);
+        }
+
+        LeaderboardItemDTO current = topById.get(id);
+        if (current != null) {
+            LeaderboardItemDTO updated = new LeaderboardItemDTO(id, user.getName(), user.getProfilePictureUrl(),
+                    p, user.getLevel(), current.rating(), current.completedSessions());
+            replace(current, updated);
+            // A full board may now have the best user outside it ahead of this one
+            if (p < current.points() && top.size() >= size && top.last() == updated) promoteBestOutside();
+        } else {
+            LeaderboardItemDTO entry = new LeaderboardItemDTO(id, user.getName(), user.getProfilePictureUrl(),
+                    p, user.getLevel(), 0.0, 0);
+            if (top.size() >= size && ORDER.compare(entry, top.last()) > 0) return;
+            enter(entry);
+        }
+        publish();
+    }
+
+    // Only users entering the top set cost a query
+    private void enter(LeaderboardItemDTO entry) {
+        UserSkills us = userSkillsRepository.findByUserId(entry.id()).orElse(null);
+        if (us != null) {
+            entry = new LeaderboardItemDTO(entry.id(), entry.name(), entry.profilePictureUrl(), entry.points(), entry.level(),
+                    us.getRating() == null ? 0.0 : us.getRating(),
+                    us.getCompletedSessions() == null ? 0 : us.getCompletedSessions());
+        }
+        replace(null, entry);
+        while (top.size() > size) topById.remove(top.pollLast().id());
+    }
+
+    // Scans the users with points, which only happens when a top user loses points. Users at zero points
+    // outside the board never outrank the one that dropped unless it fell to zero, and ties at zero keep
+    // the current members until the next reload.
+    private void promoteBestOutside() {
+        UUID bestId = null;
+        int bestPoints = 0;
+        for (Map.Entry<UUID, Integer> e : points.entrySet()) {
+            if (topById.containsKey(e.getKey())) continue;
+            int p = e.getValue();
+            if (bestId == null || p > bestPoints || (p == bestPoints && e.getKey().compareTo(bestId) < 0)) {
+                bestId = e.getKey();
+                bestPoints = p;
+            }
+        }
+        if (bestId == null) return;
+        LeaderboardItemDTO last = top.last();
+        if (bestPoints < last.points() || (bestPoints == last.points() && bestId.compareTo(last.id()) > 0)) return;
+        User user = userRepository.findById(bestId).orElse(null);
+        if (user == null) return;
+        enter(new LeaderboardItemDTO(bestId, user.getName(), user.getProfilePictureUrl(), bestPoints, user.getLevel(), 0.0, 0));
+    }
+
+    public synchronized void profileChanged(User user) {
+        LeaderboardItemDTO current = topById.get(user.getId());
+        if (current == null) return;
+        replace(current, new LeaderboardItemDTO(current.id(), user.getName(), user.getProfilePictureUrl(),
+                current.points(), current.level(), current.rating(), current.completedSessions()));
+        publish();
+    }
+
+    public synchronized void statsChanged(UserSkills skills) {
+        LeaderboardItemDTO current = topById.get(skills.getUser().getId());
+        if (current == null) return;
+        replace(current, new LeaderboardItemDTO(current.id(), current.name(), current.profilePictureUrl(),
+                current.points(), current.level(),
+                skills.getRating() == null ? 0.0 : skills.getRating(),
+                skills.getCompletedSessions() == null ? 0 : skills.getCompletedSessions()));
+        publish();
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.refresh-ms:300000}", initialDelayString = "${leaderboard.refresh-ms:300000}")
+    public synchronized void refresh() {
+        // Nobody has asked for the leaderboard yet, so there is nothing to keep fresh
+        if (loaded) load();
+    }
+
+    // Callers hold the lock
+    private List<LeaderboardItemDTO> load() {
+        List<LeaderboardItemDTO> rows = userRepository.findLeaderboardRows(PageRequest.of(0, size)).stream()
+                .map(r -> new LeaderboardItemDTO((UUID) r[0], (String) r[1], (String) r[2],
+                        ((Number) r[3]).intValue(), (String) r[4],
+                        r[5] == null ? 0.0 : ((Number) r[5]).doubleValue(),
+                        r[6] == null ? 0 : ((Number) r[6]).intValue()))
+                .toList();
+        top.clear();
+        topById.clear();
+        for (LeaderboardItemDTO row : rows) replace(null, row);
+        points.clear();
+        for (Object[] r : userRepository.findPositivePoints()) points.put((UUID) r[0], ((Number) r[1]).intValue());
+        rebuildTree(points.values().stream().mapToInt(Integer::intValue).max().orElse(0));
+        publish();
+        loaded = true;
+        return snapshot;
+    }
+
+    private void rebuildTree(int maxPoints) {
+        int capacity = tree.capacity();
+        while (capacity <= maxPoints) capacity *= 2;
+        tree = new PointsTree(capacity);
+        for (int p : points.values()) tree.add(p, 1);
+    }
+
+    private void replace(LeaderboardItemDTO current, LeaderboardItemDTO updated) {
+        if (current != null) top.remove(current);
+        top.add(updated);
+        topById.put(updated.id(), updated);
+    }
+
+    private void publish() {
+        snapshot = List.copyOf(top);
+    }
+}
@@ -0,0 +1,102 @@
+package com.skillswap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillswap.dto.MatchDTO;
+import com.skillswap.entity.UserMatchCache;
+import com.skillswap.entity.UserSkills;
+import com.skillswap.repository.UserMatchCacheRepository;
+import com.skillswap.service.matching.SkillProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class MatchCacheService {
+
+    private static final TypeReference<List<MatchDTO>> MATCH_LIST = new TypeReference<>() {};
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private UserMatchCacheRepository cacheRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${matching.cache.top-n:10}")
+    private int topN;
+
+    @Value("${matching.cache.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    public record CachedMatches(List<MatchDTO> matches, LocalDateTime computedAt) {}
+
+    public CachedMatches get(UUID userId) {
+        UserMatchCache row = cacheRepository.findById(userId).orElse(null);
+        if (row != null && row.getComputedAt().isAfter(LocalDateTime.now().minusMinutes(maxAgeMinutes))) {
+            try {
+                return new CachedMatches(objectMapper.readValue(row.getMatchesJson(), MATCH_LIST), row.getComputedAt());
+            } catch (JsonProcessingException ignored) {
+                // Unreadable row (e.g. written by an older MatchDTO shape); recompute below
+            }
+        }
+        return recompute(userId);
+    }
+
+    public CachedMatches recompute(UUID userId) {
+        dirty.remove(userId);
+        List<MatchDTO> matches = matchingService.findMatches(userId, topN);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            cacheRepository.save(new UserMatchCache(userId, objectMapper.writeValueAsString(matches), now));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize matches", e);
+        }
+        return new CachedMatches(matches, now);
+    }
+
+    // Skills changed: the user's own list is dropped, and everyone who shared a skill before or after is refreshed
+    public void skillsChanged(UUID userId, SkillProfile previous) {
+        cacheRepository.deleteById(userId);
+        dirty.addAll(skillIndex.candidatesFor(userId, previous));
+        dirty.addAll(skillIndex.candidatesFor(userId, skillIndex.profileOf(userId)));
+    }
+
+    // Rating or completed sessions changed: only users who can see this one as a candidate are affected
+    public void statsChanged(UserSkills skills) {
+        UUID userId = skills.getUser().getId();
+        skillIndex.updateStats(userId,
+                skills.getRating() == null ? 0.0 : skills.getRating(),
+                skills.getCompletedSessions() == null ? 0 : skills.getCompletedSessions());
+        dirty.addAll(skillIndex.candidatesFor(userId, skillIndex.profileOf(userId)));
+    }
+
+    @Scheduled(fixedDelayString = "${matching.cache.refresh-ms:5000}")
+    public void refreshDirty() {
+        for (UUID userId : List.copyOf(dirty)) {
+            if (!dirty.remove(userId)) continue;
+            // Users who never asked for matches have no row to keep fresh
+            if (!cacheRepository.existsById(userId)) continue;
+            try {
+                recompute(userId);
+            } catch (RuntimeException ignored) {
+                // User deleted meanwhile; the next read recomputes anyway
+            }
+        }
+    }
+}
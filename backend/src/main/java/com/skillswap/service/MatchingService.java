@@ -1,14 +1,20 @@
 package com.skillswap.service;
 
 import com.skillswap.dto.MatchDTO;
+import com.skillswap.dto.MatchPageDTO;
 import com.skillswap.entity.User;
-import com.skillswap.entity.UserSkills;
 import com.skillswap.repository.UserRepository;
-import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.matching.MatchCursor;
+import com.skillswap.service.matching.MatchRanker;
+import com.skillswap.service.matching.ScoredCandidate;
+import com.skillswap.service.matching.SkillProfile;
+import com.skillswap.service.matching.WeeklyAvailability;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Service
 public class MatchingService {
@@ -17,74 +23,90 @@ public class MatchingService {
     private UserRepository userRepository;
 
     @Autowired
-    private UserSkillsRepository userSkillsRepository;
-
-    public List<MatchDTO> findMatches(UUID currentUserId) {
-        User currentUser = userRepository.findById(currentUserId).orElseThrow();
-        UserSkills currentSkills = userSkillsRepository.findByUserId(currentUserId).orElseThrow();
-
-        List<String> myOffered = parseSkills(currentSkills.getSkillsOffered());
-        List<String> myWanted = parseSkills(currentSkills.getSkillsWanted());
-
-        List<User> allUsers = userRepository.findAll();
-        List<MatchDTO> matches = new ArrayList<>();
-
-        for (User otherUser : allUsers) {
-            if (otherUser.getId().equals(currentUserId)) continue;
-
-            UserSkills otherSkills = userSkillsRepository.findByUserId(otherUser.getId()).orElse(null);
-            if (otherSkills == null) continue;
-
-            List<String> theirOffered = parseSkills(otherSkills.getSkillsOffered());
-            List<String> theirWanted = parseSkills(otherSkills.getSkillsWanted());
-
-            // Find matching skills
-            List<String> theyCanTeachMe = theirOffered.stream()
-                    .filter(s -> myWanted.stream().anyMatch(w -> w.equalsIgnoreCase(s)))
-                    .map(String::trim)
-                    .distinct()
-                    .toList();
-
-            List<String> iCanTeachThem = myOffered.stream()
-                    .filter(s -> theirWanted.stream().anyMatch(w -> w.equalsIgnoreCase(s)))
-                    .map(String::trim)
-                    .distinct()
-                    .toList();
-
-            if (theyCanTeachMe.isEmpty() && iCanTeachThem.isEmpty()) continue;
-
-            // Calculate match score
-            int score = 60; // Base score
-            score += (theyCanTeachMe.size() + iCanTeachThem.size()) * 10;
-            if (Optional.ofNullable(otherSkills.getRating()).orElse(0.0) >= 4.0) score += 20;
-            if (Optional.ofNullable(otherSkills.getCompletedSessions()).orElse(0) >= 5) score += 10;
-            score = Math.min(score, 100);
-
-            matches.add(new MatchDTO(
-                    otherUser.getId(),
-                    otherUser.getName(),
-                    otherUser.getProfilePictureUrl(),
-                    theyCanTeachMe,
-                    iCanTeachThem,
-                    score,
-                    Optional.ofNullable(otherSkills.getRating()).orElse(0.0),
-                    Optional.ofNullable(otherSkills.getCompletedSessions()).orElse(0)
-            ));
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private MatchRanker matchRanker;
+
+    public List<MatchDTO> findMatches(UUID currentUserId, int limit) {
+        if (!userRepository.existsById(currentUserId)) throw new NoSuchElementException("User not found");
+        SkillProfile mine = skillIndex.profileOf(currentUserId);
+
+        UUID[] candidates = skillIndex.candidatesFor(currentUserId, mine).toArray(UUID[]::new);
+        return toDtos(mine, matchRanker.top(mine, candidates, skillIndex::profileOf, limit));
+    }
+
+    // Same ranking as findMatches, but matches that enter the running top list are handed to onProgress as
+    // each partition of candidates finishes; the returned list is the settled result
+    public List<MatchDTO> streamMatches(UUID currentUserId, int limit, Consumer<List<MatchDTO>> onProgress) {
+        if (!userRepository.existsById(currentUserId)) throw new NoSuchElementException("User not found");
+        SkillProfile mine = skillIndex.profileOf(currentUserId);
+        UUID[] candidates = skillIndex.candidatesFor(currentUserId, mine).toArray(UUID[]::new);
+        return toDtos(mine, matchRanker.topProgressively(mine, candidates, skillIndex::profileOf, limit,
+                partial -> onProgress.accept(toDtos(mine, partial))));
+    }
+
+    // One page of matches ranked after the cursor. Candidates come from the skill index (narrowed to one skill
+    // when given) and rating/level/availability are checked on the in-memory profiles, so earlier pages are never materialized
+    public MatchPageDTO findMatchPage(UUID currentUserId, String cursor, int size,
+                                      String skill, Double minRating, String level, boolean availableWithMe) {
+        if (!userRepository.existsById(currentUserId)) throw new NoSuchElementException("User not found");
+        SkillProfile mine = skillIndex.profileOf(currentUserId);
+
+        Set<UUID> candidateIds;
+        if (skill == null || skill.isBlank()) {
+            candidateIds = skillIndex.candidatesFor(currentUserId, mine);
+        } else {
+            Integer skillId = skillDictionary.find(skill);
+            if (skillId == null) return new MatchPageDTO(List.of(), null);
+            candidateIds = skillIndex.candidatesFor(currentUserId, mine, skillId);
         }
 
-        return matches.stream()
-                .sorted((a, b) -> b.matchScore().compareTo(a.matchScore()))
-                .limit(10)
-                .toList();
+        Predicate<ScoredCandidate> filter = c -> true;
+        if (cursor != null && !cursor.isBlank()) filter = MatchCursor.decode(cursor)::isBefore;
+        if (minRating != null) filter = filter.and(c -> c.profile().rating() >= minRating);
+        if (level != null && !level.isBlank()) filter = filter.and(c -> level.equalsIgnoreCase(c.profile().level()));
+        if (availableWithMe) filter = filter.and(c -> WeeklyAvailability.overlapHours(mine.availability(), c.profile().availability()) > 0);
+
+        // One extra tells us whether another page exists
+        List<ScoredCandidate> top = matchRanker.top(mine, candidateIds.toArray(UUID[]::new), skillIndex::profileOf, filter, size + 1);
+        String next = null;
+        if (top.size() > size) {
+            top = top.subList(0, size);
+            next = MatchCursor.of(top.get(size - 1)).encode();
+        }
+        return new MatchPageDTO(toDtos(mine, top), next);
     }
 
-    private List<String> parseSkills(String skillsJson) {
-        if (skillsJson == null || skillsJson.isEmpty()) return List.of();
-        String cleaned = skillsJson.replace("[", "").replace("]", "").replace("\"", "");
-        if (cleaned.isBlank()) return List.of();
-        return Arrays.stream(cleaned.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .toList();
+    // Only the winners need names, avatars and skill lists, so users are loaded once for the final page
+    private List<MatchDTO> toDtos(SkillProfile mine, List<ScoredCandidate> top) {
+        if (top.isEmpty()) return List.of();
+        Map<UUID, User> users = new HashMap<>();
+        userRepository.findAllById(top.stream().map(ScoredCandidate::userId).toList()).forEach(u -> users.put(u.getId(), u));
+
+        List<MatchDTO> out = new ArrayList<>(top.size());
+        for (ScoredCandidate s : top) {
+            User other = users.get(s.userId());
+            if (other == null) continue;
+            SkillProfile theirs = s.profile();
+            List<Integer> theyCanTeachMe = theirs.offered().stream()
+                    .filter(id -> SkillProfile.contains(mine.wantedBits(), id)).toList();
+            List<Integer> iCanTeachThem = mine.offered().stream()
+                    .filter(id -> SkillProfile.contains(theirs.wantedBits(), id)).toList();
+            out.add(new MatchDTO(
+                    other.getId(),
+                    other.getName(),
+                    other.getProfilePictureUrl(),
+                    skillDictionary.names(theyCanTeachMe),
+                    skillDictionary.names(iCanTeachThem),
+                    s.score(),
+                    theirs.rating(),
+                    theirs.completedSessions()
+            ));
+        }
+        return out;
     }
 }
@@ -0,0 +1,120 @@
+package com.skillswap.service;
+
+import com.skillswap.dto.CursorPageDTO;
+import com.skillswap.dto.MessageSearchHitDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Search over the caller's direct and group messages, newest first with keyset paging. Postgres matches
+// against the GIN expression indexes on to_tsvector('simple', message_text) (V14); other databases (H2 for
+// local runs) fall back to a case-insensitive substring match on every word of the query.
+@Service
+public class MessageSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchService.class);
+
+    private static final String TS_MATCH = "to_tsvector('simple', %s.message_text) @@ websearch_to_tsquery('simple', ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    // Flyway creates the indexes, but deployments running with Flyway disabled still get them
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!isPostgres()) return;
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_messages_text_fts ON messages USING GIN (to_tsvector('simple', message_text))");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_group_messages_text_fts ON group_messages USING GIN (to_tsvector('simple', message_text))");
+        } catch (Exception e) {
+            log.warn("Could not create message search indexes: {}", e.getMessage());
+        }
+    }
+
+    public CursorPageDTO<MessageSearchHitDTO> search(UUID userId, String query, String cursor, int size) {
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("Search query cannot be empty");
+        int limit = Math.max(1, Math.min(size, 50));
+        MessageCursor after = cursor == null || cursor.isBlank() ? null : MessageCursor.decode(cursor);
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select * from ((")
+                .append("select 'direct' as kind, m.id, m.conversation_id, cast(null as uuid) as group_id, m.sender_id, u.name as sender_name, m.message_text, m.created_at ")
+                .append("from messages m join conversations c on c.id = m.conversation_id join users u on u.id = m.sender_id ")
+                .append("where (c.user1_id = ? or c.user2_id = ?) and coalesce(m.deleted, false) = false");
+        args.add(userId);
+        args.add(userId);
+        appendFilters(sql, args, "m", query, after);
+        sql.append(" order by m.created_at desc, m.id desc limit ?) union all (");
+        args.add(limit + 1);
+        sql.append("select 'group', g.id, cast(null as uuid), g.group_id, g.sender_id, u.name, g.message_text, g.created_at ")
+                .append("from group_messages g join group_members gm on gm.group_id = g.group_id and gm.user_id = ? join users u on u.id = g.sender_id ")
+                .append("where 1 = 1");
+        args.add(userId);
+        appendFilters(sql, args, "g", query, after);
+        sql.append(" order by g.created_at desc, g.id desc limit ?)) hits order by created_at desc, id desc limit ?");
+        args.add(limit + 1);
+        args.add(limit + 1);
+
+        // One extra row tells us whether an older page exists
+        List<MessageSearchHitDTO> rows = jdbcTemplate.query(sql.toString(), (rs, i) -> new MessageSearchHitDTO(
+                rs.getString("kind"),
+                rs.getObject("id", UUID.class),
+                rs.getObject("conversation_id", UUID.class),
+                rs.getObject("group_id", UUID.class),
+                rs.getObject("sender_id", UUID.class),
+                rs.getString("sender_name"),
+                rs.getString("message_text"),
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(rs.getTimestamp("created_at").toLocalDateTime())
+        ), args.toArray());
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            MessageSearchHitDTO last = rows.get(limit - 1);
+            next = new MessageCursor(LocalDateTime.parse(last.createdAt()), last.id()).encode();
+        }
+        return new CursorPageDTO<>(rows, next);
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> args, String alias, String query, MessageCursor after) {
+        if (isPostgres()) {
+            sql.append(" and ").append(String.format(TS_MATCH, alias));
+            args.add(query);
+        } else {
+            for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                sql.append(" and lower(").append(alias).append(".message_text) like ? escape '\\'");
+                args.add("%" + word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+            }
+        }
+        if (after != null) {
+            sql.append(" and (").append(alias).append(".created_at < ? or (")
+                    .append(alias).append(".created_at = ? and ").append(alias).append(".id < ?))");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) c ->
+                    c.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres"));
+        }
+        return postgres;
+    }
+}
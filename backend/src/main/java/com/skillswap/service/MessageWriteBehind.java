@@ -0,0 +1,156 @@
+package com.skillswap.service;
+
+import com.skillswap.entity.Conversation;
+import com.skillswap.repository.ConversationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Optional write-behind for direct messages: ChatService delivers over STOMP right away and appends here;
+// the buffer is flushed to `messages` in JDBC batches every flush-ms, with one conversation update per
+// conversation per flush. A full buffer is flushed on the sending thread, and shutdown drains it.
+// Messages still buffered when the process dies without a clean shutdown are lost.
+@Component
+public class MessageWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageWriteBehind.class);
+
+    private static final String INSERT = "insert into messages (id, conversation_id, sender_id, message_text, is_read, deleted, created_at) " +
+            "values (?, ?, ?, ?, false, false, ?)";
+
+    public record PendingMessage(UUID id, UUID conversationId, UUID senderId, UUID recipientId, String text, LocalDateTime createdAt) {}
+
+    private record ConversationKey(UUID conversationId, UUID recipientId) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Value("${chat.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private final BlockingQueue<PendingMessage> buffer;
+
+    // Batches drained from the buffer but not yet committed; together with the buffer this is every message
+    // the database does not show yet. Draining and reading pending() exclude each other so none is missed.
+    private final Set<List<PendingMessage>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Object drainLock = new Object();
+
+    public MessageWriteBehind(@Value("${chat.write-behind.capacity:10000}") int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(PendingMessage m) {
+        while (!buffer.offer(m)) flush();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.write-behind.flush-ms:200}")
+    public void flush() {
+        while (true) {
+            List<PendingMessage> batch;
+            synchronized (drainLock) {
+                List<PendingMessage> drained = new ArrayList<>(batchSize);
+                if (buffer.drainTo(drained, batchSize) == 0) return;
+                batch = List.copyOf(drained);
+                inFlight.add(batch);
+            }
+            try {
+                write(batch);
+            } finally {
+                inFlight.remove(batch);
+            }
+        }
+    }
+
+    // The conversation's messages not yet visible in the database, oldest first. A message that has just
+    // been committed may also still be listed here.
+    public List<PendingMessage> pending(UUID conversationId) {
+        if (!enabled) return List.of();
+        List<PendingMessage> out = new ArrayList<>();
+        synchronized (drainLock) {
+            for (List<PendingMessage> batch : inFlight) {
+                for (PendingMessage m : batch) if (m.conversationId().equals(conversationId)) out.add(m);
+            }
+            for (PendingMessage m : buffer) if (m.conversationId().equals(conversationId)) out.add(m);
+        }
+        out.sort(Comparator.comparing(PendingMessage::createdAt));
+        return out;
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    private synchronized void write(List<PendingMessage> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                insert(batch);
+                touchConversations(batch);
+            });
+        } catch (RuntimeException e) {
+            // Usually one bad row (e.g. its conversation was deleted); retry the rest one by one
+            log.warn("Batched message flush failed, retrying {} messages individually", batch.size(), e);
+            for (PendingMessage m : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> {
+                        insert(List.of(m));
+                        touchConversations(List.of(m));
+                    });
+                } catch (RuntimeException single) {
+                    log.error("Dropping message {} for conversation {}", m.id(), m.conversationId(), single);
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, m) -> {
+            ps.setObject(1, m.id());
+            ps.setObject(2, m.conversationId());
+            ps.setObject(3, m.senderId());
+            ps.setString(4, m.text());
+            ps.setObject(5, m.createdAt());
+        });
+    }
+
+    // Coalesced: one UPDATE per conversation carrying the batch's message ids and the newest message
+    private void touchConversations(List<PendingMessage> batch) {
+        Map<ConversationKey, List<UUID>> ids = new HashMap<>();
+        Map<ConversationKey, PendingMessage> latest = new HashMap<>();
+        for (PendingMessage m : batch) {
+            ConversationKey key = new ConversationKey(m.conversationId(), m.recipientId());
+            ids.computeIfAbsent(key, k -> new ArrayList<>()).add(m.id());
+            latest.merge(key, m, (a, b) -> a.createdAt().isAfter(b.createdAt()) ? a : b);
+        }
+        ids.forEach((key, messageIds) -> {
+            PendingMessage newest = latest.get(key);
+            conversationRepository.recordMessages(key.conversationId(), key.recipientId(), messageIds, newest.createdAt(),
+                    Conversation.preview(newest.text()));
+        });
+    }
+}
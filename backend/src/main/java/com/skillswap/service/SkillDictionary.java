@@ -0,0 +1,207 @@
+package com.skillswap.service;
+
+import com.skillswap.entity.Skill;
+import com.skillswap.entity.SkillSynonym;
+import com.skillswap.entity.UserSkills;
+import com.skillswap.repository.SkillRepository;
+import com.skillswap.repository.SkillSynonymRepository;
+import com.skillswap.repository.UserSkillsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Canonical skill names interned to integer ids; the whole table is small enough to keep in memory.
+// "JS", "javascript" and "Java Script" resolve to one id through normalization, the synonym table and,
+// when enabled, trigram similarity against known skills. Lookups read an immutable SkillLookup snapshot.
+@Service
+public class SkillDictionary {
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s_\\-]+");
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SkillSynonymRepository skillSynonymRepository;
+
+    @Autowired
+    private UserSkillsRepository userSkillsRepository;
+
+    // 0 disables fuzzy matching; unknown names at least this similar to a known skill become synonyms of it
+    @Value("${skills.fuzzy.min-similarity:0}")
+    private double fuzzyMinSimilarity;
+
+    private final Map<Integer, Skill> skills = new HashMap<>();
+    private final Map<String, String> synonymNames = new HashMap<>(); // alias key -> canonical display name
+
+    private volatile SkillLookup lookup = SkillLookup.EMPTY;
+    private volatile boolean loaded = false;
+
+    public Integer intern(String name) {
+        String display = clean(name);
+        if (display.isEmpty()) return null;
+        String key = normalize(display);
+        if (key.isEmpty()) return null;
+        ensureLoaded();
+        Integer id = lookup.find(key);
+        if (id != null) return id;
+        return internSlow(display, key);
+    }
+
+    // Interns each name, dropping blanks and duplicates (after canonicalization) while keeping order
+    public List<Integer> internAll(Collection<String> names) {
+        if (names == null) return new ArrayList<>();
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        for (String n : names) {
+            Integer id = intern(n);
+            if (id != null) ids.add(id);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    public Integer find(String name) {
+        ensureLoaded();
+        return lookup.find(normalize(clean(name)));
+    }
+
+    // Skills created before a synonym existed map onto the synonym's target
+    public List<Integer> canonicalAll(Collection<Integer> ids) {
+        ensureLoaded();
+        SkillLookup l = lookup;
+        LinkedHashSet<Integer> out = new LinkedHashSet<>();
+        for (Integer id : ids) out.add(l.canonical(id));
+        return new ArrayList<>(out);
+    }
+
+    public String name(Integer id) {
+        ensureLoaded();
+        String n = lookup.name(id);
+        if (n == null) {
+            n = skillRepository.findById(id).map(s -> {
+                synchronized (this) {
+                    skills.put(s.getId(), s);
+                    recompile();
+                }
+                return s.getName();
+            }).orElse(null);
+        }
+        return n;
+    }
+
+    public List<String> names(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        List<String> out = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            String n = name(id);
+            if (n != null) out.add(n);
+        }
+        return out;
+    }
+
+    // Registers alias -> canonical display name mappings; existing aliases are left alone
+    public synchronized void addSynonyms(Map<String, String> aliases) {
+        ensureLoaded();
+        List<SkillSynonym> added = new ArrayList<>();
+        aliases.forEach((alias, canonical) -> {
+            String key = normalize(clean(alias));
+            if (key.isEmpty() || key.equals(normalize(clean(canonical))) || synonymNames.containsKey(key)) return;
+            added.add(new SkillSynonym(key, clean(canonical)));
+            synonymNames.put(key, clean(canonical));
+        });
+        if (added.isEmpty()) return;
+        skillSynonymRepository.saveAll(added);
+        recompile();
+    }
+
+    // Copies skills from the legacy JSON columns for rows written before the join tables existed
+    public void backfillLegacyColumns() {
+        for (UserSkills us : userSkillsRepository.findWithLegacySkillsOnly()) {
+            us.setOfferedSkillIds(internAll(parseLegacy(us.getSkillsOffered())));
+            us.setWantedSkillIds(internAll(parseLegacy(us.getSkillsWanted())));
+            userSkillsRepository.save(us);
+        }
+    }
+
+    static List<String> parseLegacy(String json) {
+        if (json == null || json.isEmpty() || json.equals("[]")) return List.of();
+        return Arrays.stream(json.replace("[", "").replace("]", "").replace("\"", "").split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    // Case, whitespace, '-' and '_' never distinguish skills: "Java Script" and "javascript" share a key
+    static String normalize(String name) {
+        return SEPARATORS.matcher(name.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    // Misses on the snapshot: a synonym whose target skill does not exist yet, a fuzzy match, or a new skill
+    private synchronized Integer internSlow(String display, String key) {
+        Integer id = lookup.find(key);
+        if (id != null) return id;
+
+        String target = synonymNames.get(key);
+        if (target != null) {
+            // First use of a synonym: the skill is created under its canonical name
+            display = clean(target);
+            key = normalize(display);
+            id = lookup.find(key);
+            if (id != null) return id;
+        }
+
+        if (fuzzyMinSimilarity > 0) {
+            Integer similar = lookup.closest(key, fuzzyMinSimilarity);
+            if (similar != null) {
+                String canonical = lookup.name(similar);
+                skillSynonymRepository.save(new SkillSynonym(key, canonical));
+                synonymNames.put(key, canonical);
+                recompile();
+                return similar;
+            }
+        }
+
+        Skill skill = create(display, key);
+        skills.put(skill.getId(), skill);
+        recompile();
+        return lookup.find(key);
+    }
+
+    private Skill create(String display, String key) {
+        try {
+            return skillRepository.findByNormalizedName(key)
+                    .orElseGet(() -> skillRepository.save(new Skill(null, display, key)));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance interned the same skill first
+            return skillRepository.findByNormalizedName(key).orElseThrow();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            skillRepository.findAll().forEach(s -> skills.put(s.getId(), s));
+            skillSynonymRepository.findAll().forEach(s -> synonymNames.put(normalize(s.getAlias()), s.getCanonical()));
+            recompile();
+            loaded = true;
+        }
+    }
+
+    private void recompile() {
+        Map<String, String> synonymKeys = new HashMap<>();
+        synonymNames.forEach((alias, canonical) -> {
+            String target = normalize(canonical);
+            if (!target.equals(alias)) synonymKeys.put(alias, target);
+        });
+        lookup = new SkillLookup(skills.values(), synonymKeys);
+    }
+
+    private static String clean(String name) {
+        if (name == null) return "";
+        String s = name.trim();
+        return s.length() > MAX_NAME_LENGTH ? s.substring(0, MAX_NAME_LENGTH) : s;
+    }
+}
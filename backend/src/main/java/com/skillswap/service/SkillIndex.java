@@ -0,0 +1,172 @@
+package com.skillswap.service;
+
+import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.matching.SkillProfile;
+import com.skillswap.service.matching.WeeklyAvailability;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// skill id -> user ids, for offered and wanted separately, plus each user's SkillProfile;
+// built from the skill join tables once, then kept in sync on updates
+@Component
+public class SkillIndex {
+
+    @Autowired
+    private UserSkillsRepository userSkillsRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    private final Map<Integer, Set<UUID>> offeredBySkill = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<UUID>> wantedBySkill = new ConcurrentHashMap<>();
+    private final Map<UUID, SkillProfile> byUser = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        skillDictionary.backfillLegacyColumns();
+        ensureLoaded();
+    }
+
+    public synchronized void rebuild() {
+        offeredBySkill.clear();
+        wantedBySkill.clear();
+        byUser.clear();
+        Map<UUID, List<Integer>> offered = group(userSkillsRepository.findAllOfferedSkillIds());
+        Map<UUID, List<Integer>> wanted = group(userSkillsRepository.findAllWantedSkillIds());
+        for (Object[] row : userSkillsRepository.findAllMatchStats()) {
+            UUID userId = (UUID) row[0];
+            List<Integer> o = skillDictionary.canonicalAll(offered.getOrDefault(userId, List.of()));
+            List<Integer> w = skillDictionary.canonicalAll(wanted.getOrDefault(userId, List.of()));
+            double rating = row[1] == null ? 0.0 : (Double) row[1];
+            int completed = row[2] == null ? 0 : (Integer) row[2];
+            String level = row[3] == null ? SkillProfile.EMPTY.level() : (String) row[3];
+            put(userId, SkillProfile.of(o, w, rating, completed, level, WeeklyAvailability.fromBytes((byte[]) row[4])));
+        }
+        loaded = true;
+    }
+
+    // Returns the profile the user had before this update
+    public SkillProfile update(UUID userId, List<Integer> offered, List<Integer> wanted) {
+        ensureLoaded();
+        synchronized (this) {
+            SkillProfile previous = remove(userId);
+            put(userId, (previous == null ? SkillProfile.EMPTY : previous)
+                    .withSkills(skillDictionary.canonicalAll(offered), skillDictionary.canonicalAll(wanted)));
+            return previous == null ? SkillProfile.EMPTY : previous;
+        }
+    }
+
+    // Same lock as update(): it removes the profile before re-putting it, and a write landing in between
+    // would be dropped or overwritten
+    public void updateStats(UUID userId, double rating, int completedSessions) {
+        ensureLoaded();
+        synchronized (this) {
+            byUser.computeIfPresent(userId, (k, p) -> p.withStats(rating, completedSessions));
+        }
+    }
+
+    public void updateLevel(UUID userId, String level) {
+        ensureLoaded();
+        synchronized (this) {
+            byUser.compute(userId, (k, p) -> (p == null ? SkillProfile.EMPTY : p).withLevel(level));
+        }
+    }
+
+    public void updateAvailability(UUID userId, long[] availability) {
+        ensureLoaded();
+        synchronized (this) {
+            byUser.compute(userId, (k, p) -> (p == null ? SkillProfile.EMPTY : p).withAvailability(availability));
+        }
+    }
+
+    public SkillProfile profileOf(UUID userId) {
+        ensureLoaded();
+        return byUser.getOrDefault(userId, SkillProfile.EMPTY);
+    }
+
+    // Users who offer one of my wanted skills or want one of my offered skills
+    public Set<UUID> candidatesFor(UUID userId, SkillProfile mine) {
+        Set<UUID> result = offeringAny(mine.wanted());
+        result.addAll(wantingAny(mine.offered()));
+        result.remove(userId);
+        return result;
+    }
+
+    public Set<UUID> offeringAny(List<Integer> skills) {
+        return union(offeredBySkill, skills);
+    }
+
+    public Set<UUID> wantingAny(List<Integer> skills) {
+        return union(wantedBySkill, skills);
+    }
+
+    // Candidates whose match with me involves this particular skill, in either direction
+    public Set<UUID> candidatesFor(UUID userId, SkillProfile mine, Integer skillId) {
+        ensureLoaded();
+        Set<UUID> result = new HashSet<>();
+        if (SkillProfile.contains(mine.wantedBits(), skillId)) {
+            result.addAll(offeredBySkill.getOrDefault(skillId, Set.of()));
+        }
+        if (SkillProfile.contains(mine.offeredBits(), skillId)) {
+            result.addAll(wantedBySkill.getOrDefault(skillId, Set.of()));
+        }
+        result.remove(userId);
+        return result;
+    }
+
+    private Set<UUID> union(Map<Integer, Set<UUID>> index, List<Integer> skills) {
+        ensureLoaded();
+        Set<UUID> result = new HashSet<>();
+        for (Integer s : skills) {
+            Set<UUID> ids = index.get(s);
+            if (ids != null) result.addAll(ids);
+        }
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (!loaded) rebuild();
+        }
+    }
+
+    private void put(UUID userId, SkillProfile e) {
+        e.offered().forEach(s -> offeredBySkill.computeIfAbsent(s, k -> ConcurrentHashMap.newKeySet()).add(userId));
+        e.wanted().forEach(s -> wantedBySkill.computeIfAbsent(s, k -> ConcurrentHashMap.newKeySet()).add(userId));
+        byUser.put(userId, e);
+    }
+
+    private SkillProfile remove(UUID userId) {
+        SkillProfile old = byUser.remove(userId);
+        if (old == null) return null;
+        old.offered().forEach(s -> detach(offeredBySkill, s, userId));
+        old.wanted().forEach(s -> detach(wantedBySkill, s, userId));
+        return old;
+    }
+
+    private static void detach(Map<Integer, Set<UUID>> index, Integer skill, UUID userId) {
+        index.computeIfPresent(skill, (k, ids) -> {
+            ids.remove(userId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Rows are (user id, skill id, list position) in no particular order
+    private static Map<UUID, List<Integer>> group(List<Object[]> rows) {
+        Map<UUID, TreeMap<Integer, Integer>> byPosition = new HashMap<>();
+        for (Object[] row : rows) {
+            byPosition.computeIfAbsent((UUID) row[0], k -> new TreeMap<>()).put((Integer) row[2], (Integer) row[1]);
+        }
+        Map<UUID, List<Integer>> out = new HashMap<>(byPosition.size() * 2);
+        byPosition.forEach((userId, ordered) -> out.put(userId, new ArrayList<>(ordered.values())));
+        return out;
+    }
+}
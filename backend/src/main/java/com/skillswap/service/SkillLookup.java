@@ -0,0 +1,110 @@
+package com.skillswap.service;
+
+import com.skillswap.entity.Skill;
+
+import java.util.*;
+
+// Immutable snapshot of the skill dictionary: every known spelling (normalized key, synonym alias) resolves to
+// a canonical skill id with one hash lookup. Rebuilt and swapped whole whenever skills or synonyms change.
+final class SkillLookup {
+
+    static final SkillLookup EMPTY = new SkillLookup(List.of(), Map.of());
+
+    private final Map<String, Integer> idsByKey;
+    private final Map<Integer, String> namesById;
+    private final Map<Integer, Integer> canonicalById; // only skills merged into another one
+    private final Map<String, String> synonyms;        // alias key -> canonical key
+    private final Map<String, int[]> idsByTrigram;
+    private final Map<Integer, Integer> trigramCounts;
+
+    SkillLookup(Collection<Skill> skills, Map<String, String> synonyms) {
+        this.synonyms = Map.copyOf(synonyms);
+        List<Skill> byId = new ArrayList<>(skills);
+        byId.sort(Comparator.comparing(Skill::getId));
+
+        Map<Integer, String> names = new HashMap<>();
+        Map<String, Integer> owners = new HashMap<>();
+        // A skill whose own key is the canonical key owns it; otherwise the oldest skill resolving there does
+        for (Skill s : byId) {
+            names.put(s.getId(), s.getName());
+            String key = SkillDictionary.normalize(s.getNormalizedName());
+            if (!synonyms.containsKey(key)) owners.putIfAbsent(key, s.getId());
+        }
+        for (Skill s : byId) owners.putIfAbsent(resolve(SkillDictionary.normalize(s.getNormalizedName())), s.getId());
+
+        Map<String, Integer> ids = new HashMap<>(owners);
+        Map<Integer, Integer> canonical = new HashMap<>();
+        for (Skill s : byId) {
+            String key = SkillDictionary.normalize(s.getNormalizedName());
+            Integer owner = owners.get(resolve(key));
+            ids.put(key, owner);
+            if (!owner.equals(s.getId())) canonical.put(s.getId(), owner);
+        }
+        synonyms.forEach((alias, target) -> {
+            Integer owner = owners.get(target);
+            if (owner != null) ids.put(alias, owner);
+        });
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        owners.forEach((key, id) -> {
+            Set<String> grams = trigrams(key);
+            counts.merge(id, grams.size(), Math::max);
+            grams.forEach(g -> postings.computeIfAbsent(g, k -> new ArrayList<>()).add(id));
+        });
+        Map<String, int[]> byTrigram = new HashMap<>(postings.size() * 2);
+        postings.forEach((g, list) -> byTrigram.put(g, list.stream().mapToInt(Integer::intValue).distinct().toArray()));
+
+        this.idsByKey = Map.copyOf(ids);
+        this.namesById = Map.copyOf(names);
+        this.canonicalById = Map.copyOf(canonical);
+        this.idsByTrigram = Map.copyOf(byTrigram);
+        this.trigramCounts = Map.copyOf(counts);
+    }
+
+    Integer find(String key) {
+        return idsByKey.get(key);
+    }
+
+    String name(Integer id) {
+        return namesById.get(id);
+    }
+
+    int canonical(int id) {
+        return canonicalById.getOrDefault(id, id);
+    }
+
+    // Canonical key a synonym points to, or the key itself
+    String resolve(String key) {
+        return synonyms.getOrDefault(key, key);
+    }
+
+    // Most similar canonical skill by trigram Jaccard similarity, if any reaches minSimilarity
+    Integer closest(String key, double minSimilarity) {
+        Set<String> grams = trigrams(key);
+        Map<Integer, Integer> common = new HashMap<>();
+        for (String g : grams) {
+            int[] ids = idsByTrigram.get(g);
+            if (ids != null) for (int id : ids) common.merge(id, 1, Integer::sum);
+        }
+        Integer best = null;
+        double bestSimilarity = minSimilarity;
+        for (Map.Entry<Integer, Integer> e : common.entrySet()) {
+            int shared = e.getValue();
+            double similarity = (double) shared / (grams.size() + trigramCounts.get(e.getKey()) - shared);
+            if (similarity >= bestSimilarity) {
+                best = e.getKey();
+                bestSimilarity = similarity;
+            }
+        }
+        return best;
+    }
+
+    // pg_trgm style: two leading blanks and one trailing blank
+    static Set<String> trigrams(String key) {
+        String padded = "  " + key + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) grams.add(padded.substring(i, i + 3));
+        return grams;
+    }
+}
@@ -0,0 +1,247 @@
+package com.skillswap.service;
+
+import com.skillswap.dto.SwapDTO;
+import com.skillswap.entity.SwapCycle;
+import com.skillswap.entity.SwapGraphLock;
+import com.skillswap.entity.SwapGraphRun;
+import com.skillswap.repository.SwapCycleRepository;
+import com.skillswap.repository.SwapGraphLockRepository;
+import com.skillswap.repository.SwapGraphRunRepository;
+import com.skillswap.repository.UserRepository;
+import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.matching.SkillProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Batch job over the "can teach" graph (A -> B when A offers a skill B wants). Finds reciprocal pairs and
+// 3-cycles and stores them under a new generation; readers keep seeing the previous generation until the
+// run has committed every row and its SwapGraphRun marker. Every instance fires the schedule, but only the
+// one holding the swap_graph_lock lease runs it.
+@Service
+public class SwapGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(SwapGraphService.class);
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private UserSkillsRepository userSkillsRepository;
+
+    @Autowired
+    private SwapCycleRepository swapCycleRepository;
+
+    @Autowired
+    private SwapGraphRunRepository swapGraphRunRepository;
+
+    @Autowired
+    private SwapGraphLockRepository swapGraphLockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.swap-graph.chunk-size:1000}")
+    private int chunkSize;
+
+    // Limits the 3-cycle search for users with very popular skills
+    @Value("${matching.swap-graph.max-neighbours:500}")
+    private int maxNeighbours;
+
+    @Value("${matching.swap-graph.max-cycles-per-user:20}")
+    private int maxCyclesPerUser;
+
+    // Longer than any run; a crashed holder blocks the job for at most this long
+    @Value("${matching.swap-graph.lease-minutes:180}")
+    private long leaseMinutes;
+
+    // How long a node trusts its published generation before re-reading the newest run marker
+    @Value("${matching.swap-graph.generation-ttl-ms:60000}")
+    private long generationTtlMs;
+
+    private record Published(Long generation, long checkedAt) {}
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile Published published;
+
+    private final AtomicLong lastPairs = new AtomicLong();
+    private final AtomicLong lastCycles = new AtomicLong();
+    private final AtomicLong lastUsersPerSecond = new AtomicLong();
+    private Timer runTimer;
+    private Counter usersProcessed;
+
+    @PostConstruct
+    void init() {
+        runTimer = Timer.builder("swapgraph.run.duration").description("Swap graph batch run time").register(meterRegistry);
+        usersProcessed = Counter.builder("swapgraph.users.processed").register(meterRegistry);
+        meterRegistry.gauge("swapgraph.last.pairs", lastPairs);
+        meterRegistry.gauge("swapgraph.last.cycles", lastCycles);
+        meterRegistry.gauge("swapgraph.last.users.per.second", lastUsersPerSecond);
+    }
+
+    @Scheduled(cron = "${matching.swap-graph.cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            if (!claimLease()) {
+                log.info("Swap graph: another instance holds the lease, skipping this run");
+                return;
+            }
+            try {
+                runTimer.record(this::run);
+            } finally {
+                swapGraphLockRepository.release(instanceId);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public List<SwapDTO> swapsFor(UUID userId) {
+        Long generation = currentGeneration();
+        if (generation == null) return List.of();
+        List<SwapCycle> cycles = swapCycleRepository.findForUser(generation, userId);
+        if (cycles.isEmpty()) return List.of();
+
+        Set<UUID> ids = new HashSet<>();
+        cycles.forEach(c -> ids.addAll(members(c)));
+        Map<UUID, String> names = new HashMap<>();
+        userRepository.findAllById(ids).forEach(u -> names.put(u.getId(), u.getName()));
+
+        List<SwapDTO> out = new ArrayList<>(cycles.size());
+        for (SwapCycle c : cycles) {
+            // Rotate so the caller comes first; the teaching direction is preserved
+            List<UUID> members = new ArrayList<>(members(c));
+            Collections.rotate(members, -members.indexOf(userId));
+            out.add(new SwapDTO(members, members.stream().map(names::get).toList()));
+        }
+        return out;
+    }
+
+    private void run() {
+        long generation = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long users = 0, pairs = 0, cycles = 0;
+
+        List<UUID> chunk = userSkillsRepository.findUserIdsOrdered(PageRequest.of(0, chunkSize));
+        while (!chunk.isEmpty()) {
+            List<SwapCycle> found = new ArrayList<>();
+            for (UUID userId : chunk) {
+                pairs += findPairs(generation, userId, found);
+                cycles += findCycles(generation, userId, found);
+            }
+            swapCycleRepository.saveAll(found);
+            users += chunk.size();
+            usersProcessed.increment(chunk.size());
+            chunk = userSkillsRepository.findUserIdsAfter(chunk.get(chunk.size() - 1), PageRequest.of(0, chunkSize));
+        }
+
+        // Every chunk is committed; the marker goes last and readers switch once it is committed too
+        swapGraphRunRepository.save(new SwapGraphRun(generation, LocalDateTime.now()));
+        publish(generation);
+        // The previous run stays until the next one: other nodes may read it until their cached generation expires
+        Long previous = swapGraphRunRepository.findLatestGenerationBefore(generation);
+        long keep = previous == null ? generation : previous;
+        swapCycleRepository.deleteOlderGenerations(generation, keep);
+        swapGraphRunRepository.deleteOlderThan(keep);
+
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+        lastPairs.set(pairs);
+        lastCycles.set(cycles);
+        lastUsersPerSecond.set(Math.round(users / seconds));
+        log.info("Swap graph: {} users, {} pairs, {} cycles in {}s", users, pairs, cycles, String.format("%.1f", seconds));
+    }
+
+    // Each pair is emitted from its smaller member
+    private int findPairs(long generation, UUID a, List<SwapCycle> out) {
+        SkillProfile pa = skillIndex.profileOf(a);
+        int n = 0;
+        for (UUID b : skillIndex.wantingAny(pa.offered())) {
+            if (b.compareTo(a) <= 0) continue;
+            if (teaches(skillIndex.profileOf(b), pa)) {
+                out.add(new SwapCycle(null, generation, a, b, null));
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // a -> b -> c -> a, emitted from the smallest member so each cycle is found once
+    private int findCycles(long generation, UUID a, List<SwapCycle> out) {
+        SkillProfile pa = skillIndex.profileOf(a);
+        List<UUID> learners = larger(skillIndex.wantingAny(pa.offered()), a);
+        List<UUID> teachers = larger(skillIndex.offeringAny(pa.wanted()), a);
+        int n = 0;
+        for (UUID b : learners) {
+            SkillProfile pb = skillIndex.profileOf(b);
+            for (UUID c : teachers) {
+                if (c.equals(b) || !teaches(pb, skillIndex.profileOf(c))) continue;
+                out.add(new SwapCycle(null, generation, a, b, c));
+                if (++n >= maxCyclesPerUser) return n;
+            }
+        }
+        return n;
+    }
+
+    private List<UUID> larger(Set<UUID> ids, UUID than) {
+        List<UUID> out = new ArrayList<>();
+        for (UUID id : ids) {
+            if (id.compareTo(than) > 0) out.add(id);
+        }
+        Collections.sort(out);
+        return out.size() > maxNeighbours ? out.subList(0, maxNeighbours) : out;
+    }
+
+    private static boolean teaches(SkillProfile teacher, SkillProfile learner) {
+        return SkillProfile.countCommon(teacher.offeredBits(), learner.wantedBits()) > 0;
+    }
+
+    private static List<UUID> members(SwapCycle c) {
+        return c.getUserC() == null ? List.of(c.getUserA(), c.getUserB()) : List.of(c.getUserA(), c.getUserB(), c.getUserC());
+    }
+
+    private boolean claimLease() {
+        if (!swapGraphLockRepository.existsById(SwapGraphLock.ID)) {
+            try {
+                swapGraphLockRepository.save(new SwapGraphLock(SwapGraphLock.ID, null, null));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created it first
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return swapGraphLockRepository.claim(instanceId, now, now.plusMinutes(leaseMinutes)) == 1;
+    }
+
+    // The newest completed run comes from its marker, never from the cycles themselves (a run that died
+    // half way leaves rows but no marker), and is re-read every generation-ttl-ms to follow runs on other nodes
+    private Long currentGeneration() {
+        Published p = published;
+        long now = System.currentTimeMillis();
+        if (p != null && now - p.checkedAt() < generationTtlMs) return p.generation();
+        Long latest = swapGraphRunRepository.findLatestGeneration();
+        published = new Published(latest, now);
+        return latest;
+    }
+
+    private void publish(long generation) {
+        published = new Published(generation, System.currentTimeMillis());
+    }
+}
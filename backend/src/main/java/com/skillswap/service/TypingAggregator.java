@@ -0,0 +1,88 @@
+package com.skillswap.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Typing events are collected per group and broadcast at most once per flush-ms as the set of users
+// currently typing; a user drops out expire-ms after their last event, which is broadcast as well so
+// clients clear stale indicators. Events folded into another broadcast are counted as suppressed.
+@Component
+public class TypingAggregator {
+
+    private static final class GroupTyping {
+        final Map<String, Long> lastTypedAt = new LinkedHashMap<>();
+        int pendingEvents;
+    }
+
+    @Autowired(required = false)
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.typing.expire-ms:3000}")
+    private long expireMs;
+
+    private final Map<UUID, GroupTyping> groups = new ConcurrentHashMap<>();
+    private Counter received;
+    private Counter broadcasts;
+    private Counter suppressed;
+
+    @PostConstruct
+    void init() {
+        received = Counter.builder("chat.typing.events").tag("outcome", "received").register(meterRegistry);
+        broadcasts = Counter.builder("chat.typing.events").tag("outcome", "broadcast").register(meterRegistry);
+        suppressed = Counter.builder("chat.typing.events").tag("outcome", "suppressed").register(meterRegistry);
+    }
+
+    public void typing(UUID groupId, String user) {
+        received.increment();
+        while (true) {
+            GroupTyping g = groups.computeIfAbsent(groupId, k -> new GroupTyping());
+            synchronized (g) {
+                // flush may have dropped this group between the lookup and the lock
+                if (groups.get(groupId) != g) continue;
+                g.lastTypedAt.remove(user);
+                g.lastTypedAt.put(user, System.currentTimeMillis());
+                g.pendingEvents++;
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.typing.flush-ms:500}")
+    public void flush() {
+        long expiredBefore = System.currentTimeMillis() - expireMs;
+        for (Map.Entry<UUID, GroupTyping> e : groups.entrySet()) {
+            GroupTyping g = e.getValue();
+            List<String> users;
+            int events;
+            boolean expired;
+            synchronized (g) {
+                expired = g.lastTypedAt.values().removeIf(t -> t < expiredBefore);
+                if (g.lastTypedAt.isEmpty()) groups.remove(e.getKey(), g);
+                events = g.pendingEvents;
+                g.pendingEvents = 0;
+                users = new ArrayList<>(g.lastTypedAt.keySet());
+            }
+            if (events == 0 && !expired) continue;
+            broadcasts.increment();
+            if (events > 1) suppressed.increment(events - 1);
+            if (messagingTemplate == null) continue;
+            // "user" is the most recent typist, kept for clients that only show one name; it is left out
+            // once nobody is typing
+            messagingTemplate.convertAndSend("/topic/group/" + e.getKey() + "/typing", users.isEmpty()
+                    ? Map.of("users", users)
+                    : Map.of("user", users.get(users.size() - 1), "users", users));
+        }
+    }
+}
@@ -13,7 +13,13 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    public void updateUserLevel(UUID userId) {
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    public User updateUserLevel(UUID userId) {
         User user = userRepository.findById(userId).orElseThrow();
         int points = user.getPoints() == null ? 0 : user.getPoints();
 
@@ -24,13 +30,15 @@ public class UserService {
         else level = "Expert";
 
         user.setLevel(level);
-        userRepository.save(user);
+        user = userRepository.save(user);
+        skillIndex.updateLevel(userId, level);
+        return user;
     }
 
     public void addPoints(UUID userId, int points) {
         User user = userRepository.findById(userId).orElseThrow();
         user.setPoints((user.getPoints() == null ? 0 : user.getPoints()) + points);
         userRepository.save(user);
-        updateUserLevel(userId);
+        leaderboardService.pointsChanged(updateUserLevel(userId));
     }
 }
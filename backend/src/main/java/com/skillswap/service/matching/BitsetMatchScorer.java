@@ -0,0 +1,15 @@
+package com.skillswap.service.matching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "matching.scorer", havingValue = "bitset", matchIfMissing = true)
+public class BitsetMatchScorer implements MatchScorer {
+
+    @Override
+    public int overlap(SkillProfile mine, SkillProfile theirs) {
+        return SkillProfile.countCommon(theirs.offeredBits(), mine.wantedBits())
+                + SkillProfile.countCommon(mine.offeredBits(), theirs.wantedBits());
+    }
+}
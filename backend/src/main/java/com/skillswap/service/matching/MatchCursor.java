@@ -0,0 +1,32 @@
+package com.skillswap.service.matching;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last match a client has seen; the next page is everything ranked strictly after it
+public record MatchCursor(int score, UUID userId) {
+
+    public static MatchCursor of(ScoredCandidate last) {
+        return new MatchCursor(last.score(), last.userId());
+    }
+
+    public boolean isBefore(ScoredCandidate c) {
+        return ScoredCandidate.RANKING.compare(new ScoredCandidate(userId, score, null), c) < 0;
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + ":" + userId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new MatchCursor(Integer.parseInt(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
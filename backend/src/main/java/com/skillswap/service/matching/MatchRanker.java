@@ -0,0 +1,166 @@
+package com.skillswap.service.matching;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Scores candidates in fork-join partitions; each partition keeps only its best k in a min-heap
+// and the heaps are merged pairwise on the way back up, so no full list of scored candidates is built
+@Component
+public class MatchRanker {
+
+    @Autowired
+    private MatchScorer matchScorer;
+
+    @Value("${matching.parallelism:0}")
+    private int parallelism;
+
+    @Value("${matching.partition-size:2048}")
+    private int partitionSize;
+
+    // Points added (up to 100) when our weekly availability overlaps; 0 keeps the plain skill score
+    @Value("${matching.availability.boost:0}")
+    private int availabilityBoost;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != ForkJoinPool.commonPool()) pool.shutdown();
+    }
+
+    // Best k candidates by ScoredCandidate.RANKING, best first; candidates scoring 0 are dropped
+    public List<ScoredCandidate> top(SkillProfile mine, UUID[] candidates, Function<UUID, SkillProfile> profiles, int k) {
+        return top(mine, candidates, profiles, c -> true, k);
+    }
+
+    // Same, keeping only scored candidates the filter accepts; rejected ones never enter a heap
+    public List<ScoredCandidate> top(SkillProfile mine, UUID[] candidates, Function<UUID, SkillProfile> profiles,
+                                     Predicate<ScoredCandidate> filter, int k) {
+        if (k <= 0 || candidates.length == 0) return List.of();
+        Partition root = new Partition(mine, candidates, profiles, filter, k, 0, candidates.length);
+        // Small candidate sets are cheaper to score on the calling thread than to hand off
+        PriorityQueue<ScoredCandidate> heap = candidates.length <= partitionSize ? root.compute() : pool.invoke(root);
+        List<ScoredCandidate> out = new ArrayList<>(heap);
+        out.sort(ScoredCandidate.RANKING);
+        return out;
+    }
+
+    // Like top(), but partitions are merged as each one finishes; candidates that enter the running top k are
+    // reported through onProgress (best first within the batch). They may still be pushed out by later partitions.
+    public List<ScoredCandidate> topProgressively(SkillProfile mine, UUID[] candidates, Function<UUID, SkillProfile> profiles,
+                                                  int k, Consumer<List<ScoredCandidate>> onProgress) {
+        if (k <= 0 || candidates.length == 0) return List.of();
+        ExecutorCompletionService<PriorityQueue<ScoredCandidate>> completion = new ExecutorCompletionService<>(pool);
+        int partitions = 0;
+        for (int from = 0; from < candidates.length; from += partitionSize) {
+            Partition p = new Partition(mine, candidates, profiles, c -> true, k, from, Math.min(from + partitionSize, candidates.length));
+            completion.submit(p::scoreRange);
+            partitions++;
+        }
+        PriorityQueue<ScoredCandidate> global = newHeap(k);
+        try {
+            for (int i = 0; i < partitions; i++) {
+                List<ScoredCandidate> entered = new ArrayList<>();
+                for (ScoredCandidate c : completion.take().get()) {
+                    if (offer(global, c, k)) entered.add(c);
+                }
+                // A later entry of the same batch may have evicted an earlier one
+                entered.retainAll(global);
+                if (entered.isEmpty()) continue;
+                entered.sort(ScoredCandidate.RANKING);
+                onProgress.accept(entered);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Match scoring interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Match scoring failed", e.getCause());
+        }
+        List<ScoredCandidate> out = new ArrayList<>(global);
+        out.sort(ScoredCandidate.RANKING);
+        return out;
+    }
+
+    private class Partition extends RecursiveTask<PriorityQueue<ScoredCandidate>> {
+        private final SkillProfile mine;
+        private final UUID[] candidates;
+        private final Function<UUID, SkillProfile> profiles;
+        private final Predicate<ScoredCandidate> filter;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        Partition(SkillProfile mine, UUID[] candidates, Function<UUID, SkillProfile> profiles,
+                  Predicate<ScoredCandidate> filter, int k, int from, int to) {
+            this.mine = mine;
+            this.candidates = candidates;
+            this.profiles = profiles;
+            this.filter = filter;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<ScoredCandidate> compute() {
+            if (to - from <= partitionSize) return scoreRange();
+            int mid = (from + to) >>> 1;
+            Partition left = new Partition(mine, candidates, profiles, filter, k, from, mid);
+            Partition right = new Partition(mine, candidates, profiles, filter, k, mid, to);
+            left.fork();
+            PriorityQueue<ScoredCandidate> merged = right.compute();
+            for (ScoredCandidate c : left.join()) offer(merged, c, k);
+            return merged;
+        }
+
+        private PriorityQueue<ScoredCandidate> scoreRange() {
+            PriorityQueue<ScoredCandidate> heap = newHeap(k);
+            for (int i = from; i < to; i++) {
+                SkillProfile theirs = profiles.apply(candidates[i]);
+                int score = matchScorer.score(mine, theirs);
+                if (score == 0) continue;
+                if (availabilityBoost > 0 && WeeklyAvailability.overlapHours(mine.availability(), theirs.availability()) > 0) {
+                    score = Math.min(score + availabilityBoost, 100);
+                }
+                ScoredCandidate c = new ScoredCandidate(candidates[i], score, theirs);
+                if (filter.test(c)) offer(heap, c, k);
+            }
+            return heap;
+        }
+    }
+
+    // Worst kept candidate at the head, so it is the one evicted
+    private static PriorityQueue<ScoredCandidate> newHeap(int k) {
+        return new PriorityQueue<>(Math.min(k, 64) + 1, ScoredCandidate.RANKING.reversed());
+    }
+
+    private static boolean offer(PriorityQueue<ScoredCandidate> heap, ScoredCandidate c, int k) {
+        if (heap.size() < k) {
+            heap.add(c);
+            return true;
+        }
+        if (ScoredCandidate.RANKING.compare(c, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(c);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.skillswap.service.matching;
+
+public interface MatchScorer {
+
+    // Number of skills they can teach me plus skills I can teach them
+    int overlap(SkillProfile mine, SkillProfile theirs);
+
+    // 0 when neither side can teach the other anything
+    default int score(SkillProfile mine, SkillProfile theirs) {
+        int overlap = overlap(mine, theirs);
+        if (overlap == 0) return 0;
+        int score = 60; // Base score
+        score += overlap * 10;
+        if (theirs.rating() >= 4.0) score += 20;
+        if (theirs.completedSessions() >= 5) score += 10;
+        return Math.min(score, 100);
+    }
+}
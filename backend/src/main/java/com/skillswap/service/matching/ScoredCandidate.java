@@ -0,0 +1,11 @@
+package com.skillswap.service.matching;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+public record ScoredCandidate(UUID userId, int score, SkillProfile profile) {
+
+    // Highest score first; ties broken by user id so the order is total and the same on every run
+    public static final Comparator<ScoredCandidate> RANKING =
+            Comparator.comparingInt(ScoredCandidate::score).reversed().thenComparing(ScoredCandidate::userId);
+}
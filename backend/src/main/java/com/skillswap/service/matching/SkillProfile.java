@@ -0,0 +1,60 @@
+package com.skillswap.service.matching;
+
+import java.util.List;
+
+// A user's skills as ordered id lists (for display) and as bitsets over skill ids (for scoring),
+// plus the stats the score and match filters use
+public record SkillProfile(
+        List<Integer> offered,
+        List<Integer> wanted,
+        long[] offeredBits,
+        long[] wantedBits,
+        double rating,
+        int completedSessions,
+        String level,
+        long[] availability // WeeklyAvailability hour bits in UTC
+) {
+    public static final SkillProfile EMPTY = of(List.of(), List.of(), 0.0, 0, "Beginner", new long[WeeklyAvailability.WORDS]);
+
+    public static SkillProfile of(List<Integer> offered, List<Integer> wanted, double rating, int completedSessions,
+                                  String level, long[] availability) {
+        return new SkillProfile(List.copyOf(offered), List.copyOf(wanted), bits(offered), bits(wanted),
+                rating, completedSessions, level, availability);
+    }
+
+    public SkillProfile withSkills(List<Integer> offered, List<Integer> wanted) {
+        return of(offered, wanted, rating, completedSessions, level, availability);
+    }
+
+    public SkillProfile withStats(double rating, int completedSessions) {
+        return new SkillProfile(offered, wanted, offeredBits, wantedBits, rating, completedSessions, level, availability);
+    }
+
+    public SkillProfile withLevel(String level) {
+        return new SkillProfile(offered, wanted, offeredBits, wantedBits, rating, completedSessions, level, availability);
+    }
+
+    public SkillProfile withAvailability(long[] availability) {
+        return new SkillProfile(offered, wanted, offeredBits, wantedBits, rating, completedSessions, level, availability);
+    }
+
+    public static long[] bits(List<Integer> ids) {
+        int max = -1;
+        for (int id : ids) max = Math.max(max, id);
+        long[] bits = new long[(max >> 6) + 1];
+        for (int id : ids) bits[id >> 6] |= 1L << id;
+        return bits;
+    }
+
+    public static int countCommon(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) count += Long.bitCount(a[i] & b[i]);
+        return count;
+    }
+
+    public static boolean contains(long[] bits, int id) {
+        int word = id >> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+}
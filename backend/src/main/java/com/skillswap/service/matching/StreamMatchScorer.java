@@ -0,0 +1,17 @@
+package com.skillswap.service.matching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Original list-based comparison, kept as a reference implementation
+@Component
+@ConditionalOnProperty(name = "matching.scorer", havingValue = "stream")
+public class StreamMatchScorer implements MatchScorer {
+
+    @Override
+    public int overlap(SkillProfile mine, SkillProfile theirs) {
+        long theyCanTeachMe = theirs.offered().stream().filter(mine.wanted()::contains).count();
+        long iCanTeachThem = mine.offered().stream().filter(theirs.wanted()::contains).count();
+        return (int) (theyCanTeachMe + iCanTeachThem);
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillswap.service.matching;
+
+import com.skillswap.dto.AvailabilitySlotDTO;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Weekly availability as 168 hour bits in UTC (bit 0 = Monday 00:00-01:00 UTC), packed into three longs.
+// Users enter slots in their own timezone; storing UTC makes overlap between any two users a plain AND.
+public final class WeeklyAvailability {
+
+    public static final int HOURS = 7 * 24;
+    public static final int WORDS = (HOURS + 63) / 64;
+    private static final int MINUTES = HOURS * 60;
+
+    private WeeklyAvailability() {}
+
+    public static long[] fromSlots(List<AvailabilitySlotDTO> slots, ZoneId zone) {
+        long[] bits = new long[WORDS];
+        int offsetMinutes = offsetMinutes(zone);
+        for (AvailabilitySlotDTO slot : slots) {
+            int day = (slot.day().getValue() - 1) * 24 * 60;
+            int from = day + slot.start().getHour() * 60;
+            int endMinute = slot.end().toSecondOfDay() / 60;
+            // A slot ending mid-hour still covers that hour
+            int to = day + (endMinute == 0 ? 24 * 60 : (endMinute + 59) / 60 * 60);
+            // Overnight slots (22:00-02:00) run on into the next day, Sunday night into Monday
+            if (endMinute != 0 && !slot.end().isAfter(slot.start())) to += 24 * 60;
+            for (int m = from; m < to; m += 60) {
+                int hour = Math.floorMod(m - offsetMinutes, MINUTES) / 60;
+                bits[hour >> 6] |= 1L << hour;
+            }
+        }
+        return bits;
+    }
+
+    // Consecutive hours merged into one slot per local day
+    public static List<AvailabilitySlotDTO> toSlots(long[] bits, ZoneId zone) {
+        boolean[] local = new boolean[HOURS];
+        int offsetMinutes = offsetMinutes(zone);
+        for (int hour = 0; hour < HOURS; hour++) {
+            // Rounds up to undo the rounding down in fromSlots for half-hour offsets
+            if (SkillProfile.contains(bits, hour)) local[Math.floorMod(Math.ceilDiv(hour * 60 + offsetMinutes, 60), HOURS)] = true;
+        }
+        List<AvailabilitySlotDTO> slots = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            int h = 0;
+            while (h < 24) {
+                if (!local[day * 24 + h]) {
+                    h++;
+                    continue;
+                }
+                int start = h;
+                while (h < 24 && local[day * 24 + h]) h++;
+                slots.add(new AvailabilitySlotDTO(DayOfWeek.of(day + 1), LocalTime.of(start, 0), LocalTime.of(h % 24, 0)));
+            }
+        }
+        return slots;
+    }
+
+    public static int overlapHours(long[] a, long[] b) {
+        return SkillProfile.countCommon(a, b);
+    }
+
+    public static byte[] toBytes(long[] bits) {
+        byte[] out = new byte[HOURS / 8];
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (SkillProfile.contains(bits, hour)) out[hour >> 3] |= (byte) (1 << (hour & 7));
+        }
+        return out;
+    }
+
+    public static long[] fromBytes(byte[] bytes) {
+        long[] bits = new long[WORDS];
+        if (bytes == null) return bits;
+        for (int hour = 0; hour < Math.min(HOURS, bytes.length * 8); hour++) {
+            if ((bytes[hour >> 3] & (1 << (hour & 7))) != 0) bits[hour >> 6] |= 1L << hour;
+        }
+        return bits;
+    }
+
+    public static ZoneId zoneOf(String timezone) {
+        try {
+            return timezone == null || timezone.isBlank() ? ZoneOffset.UTC : ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    // Current offset; slots follow the user's wall clock as of the last save
+    private static int offsetMinutes(ZoneId zone) {
+        return zone.getRules().getOffset(Instant.now()).getTotalSeconds() / 60;
+    }
+}
@@ -0,0 +1,5 @@
+-- Alternative spellings of a skill (normalized key) and the canonical skill name they resolve to
+CREATE TABLE IF NOT EXISTS skill_synonyms (
+    alias VARCHAR(100) PRIMARY KEY,
+    canonical VARCHAR(100) NOT NULL
+);
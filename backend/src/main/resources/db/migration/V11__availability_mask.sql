@@ -0,0 +1,2 @@
+-- Structured weekly availability: 168 hour bits in UTC (Monday 00:00 UTC first)
+ALTER TABLE user_skills ADD COLUMN IF NOT EXISTS availability_mask BYTEA;
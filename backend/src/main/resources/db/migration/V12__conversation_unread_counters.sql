@@ -0,0 +1,8 @@
+-- Per-participant unread counters, maintained on send and reset on read
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS user1_unread INT;
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS user2_unread INT;
+
+UPDATE conversations c SET
+    user1_unread = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c.id AND m.is_read = false AND m.sender_id <> c.user1_id),
+    user2_unread = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c.id AND m.is_read = false AND m.sender_id <> c.user2_id)
+WHERE c.user1_unread IS NULL OR c.user2_unread IS NULL;
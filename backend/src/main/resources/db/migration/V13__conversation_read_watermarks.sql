@@ -0,0 +1,8 @@
+-- Per-participant read watermarks replacing per-message read bookkeeping
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS user1_last_read_at TIMESTAMP;
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS user2_last_read_at TIMESTAMP;
+
+UPDATE conversations c SET
+    user1_last_read_at = (SELECT MAX(m.created_at) FROM messages m WHERE m.conversation_id = c.id AND m.is_read = true AND m.sender_id <> c.user1_id),
+    user2_last_read_at = (SELECT MAX(m.created_at) FROM messages m WHERE m.conversation_id = c.id AND m.is_read = true AND m.sender_id <> c.user2_id)
+WHERE c.user1_last_read_at IS NULL AND c.user2_last_read_at IS NULL;
@@ -0,0 +1,3 @@
+-- Full-text search over direct and group messages; expression indexes are maintained on insert
+CREATE INDEX IF NOT EXISTS idx_messages_text_fts ON messages USING GIN (to_tsvector('simple', message_text));
+CREATE INDEX IF NOT EXISTS idx_group_messages_text_fts ON group_messages USING GIN (to_tsvector('simple', message_text));
@@ -0,0 +1,6 @@
+-- Denormalized start of the newest message so the inbox is a single query over conversations
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(200);
+
+UPDATE conversations c SET last_message_preview = (
+    SELECT LEFT(m.message_text, 200) FROM messages m WHERE m.conversation_id = c.id ORDER BY m.created_at DESC LIMIT 1)
+WHERE c.last_message_preview IS NULL AND c.last_message_time IS NOT NULL;
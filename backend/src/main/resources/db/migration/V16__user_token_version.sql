@@ -0,0 +1,2 @@
+-- Per-user JWT version; bumping it revokes every token issued before
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER DEFAULT 0;
@@ -0,0 +1,5 @@
+-- One row per completed swap graph run, written after all of its cycles; readers only trust generations listed here
+CREATE TABLE IF NOT EXISTS swap_graph_runs (
+    generation BIGINT PRIMARY KEY,
+    completed_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Lease on the swap graph job so only one instance runs it at a time
+CREATE TABLE IF NOT EXISTS swap_graph_lock (
+    id INTEGER PRIMARY KEY,
+    locked_until TIMESTAMP,
+    owner VARCHAR(64)
+);
+
+INSERT INTO swap_graph_lock (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM swap_graph_lock WHERE id = 1);
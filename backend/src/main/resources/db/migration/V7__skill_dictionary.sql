@@ -0,0 +1,58 @@
+-- Canonical skill dictionary replacing the JSON-in-TEXT skill columns for matching
+CREATE TABLE IF NOT EXISTS skills (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    normalized_name VARCHAR(100) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS user_skill_offered (
+    user_skills_id UUID NOT NULL REFERENCES user_skills(id) ON DELETE CASCADE,
+    sort_order INT NOT NULL,
+    skill_id INT NOT NULL REFERENCES skills(id),
+    PRIMARY KEY (user_skills_id, sort_order)
+);
+CREATE INDEX IF NOT EXISTS idx_user_skill_offered_skill ON user_skill_offered(skill_id, user_skills_id);
+
+CREATE TABLE IF NOT EXISTS user_skill_wanted (
+    user_skills_id UUID NOT NULL REFERENCES user_skills(id) ON DELETE CASCADE,
+    sort_order INT NOT NULL,
+    skill_id INT NOT NULL REFERENCES skills(id),
+    PRIMARY KEY (user_skills_id, sort_order)
+);
+CREATE INDEX IF NOT EXISTS idx_user_skill_wanted_skill ON user_skill_wanted(skill_id, user_skills_id);
+
+-- Backfill from the legacy JSON arrays
+INSERT INTO skills (name, normalized_name)
+SELECT DISTINCT ON (lower(e.name)) e.name, lower(e.name)
+FROM (
+    SELECT left(trim(x), 100) AS name
+    FROM user_skills us, json_array_elements_text(COALESCE(NULLIF(us.skills_offered, ''), '[]')::json) AS x
+    UNION ALL
+    SELECT left(trim(x), 100) AS name
+    FROM user_skills us, json_array_elements_text(COALESCE(NULLIF(us.skills_wanted, ''), '[]')::json) AS x
+) e
+WHERE e.name <> ''
+ORDER BY lower(e.name), e.name
+ON CONFLICT (normalized_name) DO NOTHING;
+
+INSERT INTO user_skill_offered (user_skills_id, sort_order, skill_id)
+SELECT t.id, (ROW_NUMBER() OVER (PARTITION BY t.id ORDER BY t.ord)) - 1, t.skill_id
+FROM (
+    SELECT us.id, sk.id AS skill_id, MIN(e.ord) AS ord
+    FROM user_skills us
+    CROSS JOIN LATERAL json_array_elements_text(COALESCE(NULLIF(us.skills_offered, ''), '[]')::json) WITH ORDINALITY AS e(name, ord)
+    JOIN skills sk ON sk.normalized_name = lower(left(trim(e.name), 100))
+    WHERE NOT EXISTS (SELECT 1 FROM user_skill_offered o WHERE o.user_skills_id = us.id)
+    GROUP BY us.id, sk.id
+) t;
+
+INSERT INTO user_skill_wanted (user_skills_id, sort_order, skill_id)
+SELECT t.id, (ROW_NUMBER() OVER (PARTITION BY t.id ORDER BY t.ord)) - 1, t.skill_id
+FROM (
+    SELECT us.id, sk.id AS skill_id, MIN(e.ord) AS ord
+    FROM user_skills us
+    CROSS JOIN LATERAL json_array_elements_text(COALESCE(NULLIF(us.skills_wanted, ''), '[]')::json) WITH ORDINALITY AS e(name, ord)
+    JOIN skills sk ON sk.normalized_name = lower(left(trim(e.name), 100))
+    WHERE NOT EXISTS (SELECT 1 FROM user_skill_wanted w WHERE w.user_skills_id = us.id)
+    GROUP BY us.id, sk.id
+) t;
@@ -0,0 +1,6 @@
+-- Materialized top-N match recommendations per user
+CREATE TABLE IF NOT EXISTS user_match_cache (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    matches_json TEXT NOT NULL,
+    computed_at TIMESTAMP NOT NULL
+);
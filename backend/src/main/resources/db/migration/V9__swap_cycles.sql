@@ -0,0 +1,12 @@
+-- Reciprocal pairs and 3-cycles found by the nightly swap graph job
+CREATE TABLE IF NOT EXISTS swap_cycles (
+    id UUID PRIMARY KEY,
+    generation BIGINT NOT NULL,
+    user_a UUID NOT NULL,
+    user_b UUID NOT NULL,
+    user_c UUID
+);
+
+CREATE INDEX IF NOT EXISTS idx_swap_cycles_user_a ON swap_cycles(generation, user_a);
+CREATE INDEX IF NOT EXISTS idx_swap_cycles_user_b ON swap_cycles(generation, user_b);
+CREATE INDEX IF NOT EXISTS idx_swap_cycles_user_c ON swap_cycles(generation, user_c);
@@ -0,0 +1,59 @@
+package com.skillswap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Full application on the in-memory H2 profile; every test class shares this one context
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+public abstract class IntegrationTestSupport {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    protected record TestUser(UUID id, String email, String token) {
+        public String bearer() {
+            return "Bearer " + token;
+        }
+    }
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected TestUser register(String name) throws Exception {
+        String email = name + "-" + USERS.incrementAndGet() + "-" + UUID.randomUUID() + "@test.io";
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterBody(name, email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return new TestUser(UUID.fromString(json.path("user").path("id").asText()), email, json.path("token").asText());
+    }
+
+    protected JsonNode json(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+
+    private record RegisterBody(String name, String email, String password) {}
+}
@@ -0,0 +1,176 @@
+package com.skillswap.config;
+
+import com.skillswap.SkillSwapBackendApplication;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Two application instances relaying through one embedded Artemis broker over STOMP, sharing the in-memory
+// H2 database: whatever node a message is sent on, subscribers on the other node receive it
+class CrossNodeDeliveryTest {
+
+    private static EmbeddedActiveMQ broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final RestTemplate rest = new RestTemplate();
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    private record Node(String base) {}
+
+    private record Registered(UUID id, String bearer) {}
+
+    @BeforeAll
+    static void start() throws Exception {
+        int stompPort;
+        try (ServerSocket s = new ServerSocket(0)) {
+            stompPort = s.getLocalPort();
+        }
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + stompPort
+                        + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/"));
+        broker.start();
+        nodeA = startNode(stompPort);
+        nodeB = startNode(stompPort);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+        if (broker != null) broker.stop();
+    }
+
+    private static ConfigurableApplicationContext startNode(int stompPort) throws InterruptedException {
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SkillSwapBackendApplication.class)
+                .profiles("h2")
+                .run("--server.port=0",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--websocket.broker.mode=relay",
+                        "--websocket.broker.host=127.0.0.1",
+                        "--websocket.broker.port=" + stompPort);
+        StompBrokerRelayMessageHandler relay = ctx.getBean(StompBrokerRelayMessageHandler.class);
+        for (int i = 0; i < 100 && !relay.isBrokerAvailable(); i++) Thread.sleep(100);
+        return ctx;
+    }
+
+    @Test
+    void groupAndDirectMessagesCrossNodes() throws Exception {
+        Node a = node(nodeA), b = node(nodeB);
+        Registered alice = register(b, "alice");
+        Registered bob = register(b, "bob");
+        String group = String.valueOf(post(a, "/api/groups", alice, Map.of("name", "Relay study")).get("id"));
+
+        // Both of alice's tabs on node A, each subscribed to the group and to her direct messages
+        BlockingQueue<Map<?, ?>> groupMessages = new LinkedBlockingQueue<>();
+        BlockingQueue<Map<?, ?>> tab1 = new LinkedBlockingQueue<>();
+        BlockingQueue<Map<?, ?>> tab2 = new LinkedBlockingQueue<>();
+        StompSession first = connect(a, alice);
+        StompSession second = connect(a, alice);
+        subscribe(first, "/topic/group/" + group, groupMessages);
+        subscribe(first, "/topic/user." + alice.id(), tab1);
+        subscribe(second, "/topic/user." + alice.id(), tab2);
+        Thread.sleep(1000);
+
+        try {
+            post(b, "/api/groups/" + group + "/messages", alice, Map.of("text", "from node B"));
+            Map<?, ?> groupMessage = groupMessages.poll(10, TimeUnit.SECONDS);
+            assertNotNull(groupMessage);
+            assertEquals("from node B", groupMessage.get("messageText"));
+
+            String conv = String.valueOf(post(b, "/api/chat/start/" + alice.id(), bob, null).get("id"));
+            for (int i = 0; i < 2; i++) post(b, "/api/chat/" + conv + "/send", bob, Map.of("text", "dm " + i));
+            for (BlockingQueue<Map<?, ?>> tab : List.of(tab1, tab2)) {
+                for (int i = 0; i < 2; i++) {
+                    Map<?, ?> dm = tab.poll(10, TimeUnit.SECONDS);
+                    assertNotNull(dm);
+                    assertEquals("dm " + i, dm.get("messageText"));
+                }
+            }
+        } finally {
+            sessions.forEach(StompSession::disconnect);
+            stompClient.stop();
+        }
+    }
+
+    private static Node node(ConfigurableApplicationContext ctx) {
+        return new Node("http://localhost:" + ctx.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private Registered register(Node node, String name) {
+        String email = name + "-" + UUID.randomUUID() + "@test.io";
+        Map<?, ?> body = rest.postForObject(node.base() + "/api/auth/register",
+                Map.of("name", name, "email", email, "password", "password123"), Map.class);
+        assertNotNull(body);
+        return new Registered(UUID.fromString(String.valueOf(((Map<?, ?>) body.get("user")).get("id"))),
+                "Bearer " + body.get("token"));
+    }
+
+    private Map<?, ?> post(Node node, String path, Registered as, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", as.bearer());
+        return rest.postForObject(node.base() + path, new HttpEntity<>(body, headers), Map.class);
+    }
+
+    private StompSession connect(Node node, Registered as) throws Exception {
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connect = new StompHeaders();
+        connect.add("Authorization", as.bearer());
+        StompSession session = stompClient.connectAsync(node.base() + "/ws", new WebSocketHttpHeaders(), connect,
+                new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+        sessions.add(session);
+        return session;
+    }
+
+    private static void subscribe(StompSession session, String destination, BlockingQueue<Map<?, ?>> into) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            @NonNull
+            public Type getPayloadType(@NonNull StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+                into.add((Map<?, ?>) payload);
+            }
+        });
+    }
+}
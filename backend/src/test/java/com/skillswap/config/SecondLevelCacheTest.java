@@ -0,0 +1,115 @@
+package com.skillswap.config;
+
+import com.skillswap.IntegrationTestSupport;
+import com.skillswap.entity.User;
+import com.skillswap.repository.UserRepository;
+import com.skillswap.security.TokenVersionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Each repository call below runs in its own session, so repeat loads can only be served by the users region
+class SecondLevelCacheTest extends IntegrationTestSupport {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Test
+    void loadedUserIsServedFromCache() throws Exception {
+        UUID id = register("cached").id();
+        userRepository.findById(id);
+
+        long hits = users().getHitCount();
+        long misses = users().getMissCount();
+        userRepository.findById(id).orElseThrow();
+        assertEquals(hits + 1, users().getHitCount());
+        assertEquals(misses, users().getMissCount());
+    }
+
+    @Test
+    void revokingOneUserKeepsOtherUsersCached() throws Exception {
+        UUID alice = register("alice").id();
+        UUID bob = register("bob").id();
+        userRepository.findById(alice);
+        userRepository.findById(bob);
+
+        tokenVersionService.revoke(alice);
+
+        long hits = users().getHitCount();
+        long misses = users().getMissCount();
+        userRepository.findById(bob).orElseThrow();
+        User revoked = userRepository.findById(alice).orElseThrow();
+        assertEquals(hits + 2, users().getHitCount());
+        assertEquals(misses, users().getMissCount());
+        assertEquals(1, revoked.getTokenVersion());
+    }
+
+    @Test
+    void profileUpdateReplacesTheCachedUser() throws Exception {
+        TestUser me = register("before");
+        userRepository.findById(me.id());
+
+        mockMvc.perform(put("/api/users/me").header("Authorization", me.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"after\",\"bio\":\"fresh\"}"))
+                .andExpect(status().isOk());
+
+        User cached = userRepository.findById(me.id()).orElseThrow();
+        assertEquals("after", cached.getName());
+        assertEquals("fresh", cached.getBio());
+        mockMvc.perform(get("/api/users/me").header("Authorization", me.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("after"));
+    }
+
+    @Test
+    void logoutBumpsTheCachedTokenVersion() throws Exception {
+        TestUser me = register("leaving");
+        int before = userRepository.findById(me.id()).orElseThrow().getTokenVersion();
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", me.bearer()))
+                .andExpect(status().isNoContent());
+
+        // Written through the entity, so the cached copy carries the new version rather than the old one
+        assertEquals(before + 1, userRepository.findById(me.id()).orElseThrow().getTokenVersion());
+        mockMvc.perform(get("/api/users/me").header("Authorization", me.bearer()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deletedUserMisses() {
+        User u = new User();
+        u.setName("deleted");
+        u.setEmail("deleted-" + UUID.randomUUID() + "@test.io");
+        UUID id = userRepository.save(u).getId();
+        userRepository.findById(id);
+
+        userRepository.deleteById(id);
+
+        long misses = users().getMissCount();
+        assertTrue(userRepository.findById(id).isEmpty());
+        assertEquals(misses + 1, users().getMissCount());
+    }
+
+    private CacheRegionStatistics users() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics("users");
+    }
+}
@@ -0,0 +1,132 @@
+package com.skillswap.config;
+
+import com.skillswap.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A real STOMP client against the in-process broker, plus the switch between it and the relay
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WebSocketBrokerTest extends IntegrationTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void chatMessageReachesRecipientSubscription() throws Exception {
+        TestUser alice = register("alice");
+        TestUser bob = register("bob");
+
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connect = new StompHeaders();
+        connect.add("Authorization", alice.bearer());
+        StompSession session = client.connectAsync("http://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                connect, new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+        try {
+            BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+            session.subscribe("/topic/user." + alice.id(), new StompFrameHandler() {
+                @Override
+                @NonNull
+                public Type getPayloadType(@NonNull StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+                    received.add((Map<?, ?>) payload);
+                }
+            });
+            // SUBSCRIBE is asynchronous; a receipt-less client has to give the broker a moment
+            Thread.sleep(500);
+
+            String conv = json(mockMvc.perform(post("/api/chat/start/" + alice.id()).header("Authorization", bob.bearer()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).path("id").asText();
+            mockMvc.perform(post("/api/chat/" + conv + "/send").header("Authorization", bob.bearer())
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"over the socket\"}"))
+                    .andExpect(status().isOk());
+
+            Map<?, ?> message = received.poll(10, TimeUnit.SECONDS);
+            assertNotNull(message);
+            assertEquals("over the socket", message.get("messageText"));
+        } finally {
+            session.disconnect();
+            client.stop();
+        }
+    }
+
+    @Test
+    void brokerModeSelectsSimpleBrokerOrRelay() {
+        InspectableRegistry simple = configure("simple");
+        assertNotNull(simple.simpleBroker());
+        assertNull(simple.relay());
+
+        InspectableRegistry relay = configure("relay");
+        assertNull(relay.simpleBroker());
+        assertNotNull(relay.relay());
+        assertEquals("broker.internal", relay.relay().getRelayHost());
+        assertEquals(61613, relay.relay().getRelayPort());
+        assertEquals("guest", relay.relay().getSystemLogin());
+    }
+
+    private static InspectableRegistry configure(String mode) {
+        WebSocketConfig config = new WebSocketConfig();
+        ReflectionTestUtils.setField(config, "brokerMode", mode);
+        ReflectionTestUtils.setField(config, "relayHost", "broker.internal");
+        ReflectionTestUtils.setField(config, "relayPort", 61613);
+        ReflectionTestUtils.setField(config, "relayLogin", "guest");
+        ReflectionTestUtils.setField(config, "relayPasscode", "guest");
+        ReflectionTestUtils.setField(config, "relayVirtualHost", "");
+        InspectableRegistry registry = new InspectableRegistry();
+        config.configureMessageBroker(registry);
+        return registry;
+    }
+
+    private static final class InspectableRegistry extends MessageBrokerRegistry {
+        private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+
+        InspectableRegistry() {
+            super(new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel());
+        }
+
+        SimpleBrokerMessageHandler simpleBroker() {
+            return getSimpleBroker(brokerChannel);
+        }
+
+        StompBrokerRelayMessageHandler relay() {
+            return getStompBrokerRelay(brokerChannel);
+        }
+    }
+}
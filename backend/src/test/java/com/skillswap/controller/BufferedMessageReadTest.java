@@ -0,0 +1,53 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import com.skillswap.service.MessageWriteBehind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Messages still in the write-behind buffer are shown to the reader and must stay read once flushed
+@TestPropertySource(properties = {
+        "chat.write-behind.enabled=true",
+        "chat.write-behind.flush-ms=3600000"
+})
+class BufferedMessageReadTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MessageWriteBehind messageWriteBehind;
+
+    @Test
+    void bufferedMessageReadBeforeFlushStaysRead() throws Exception {
+        TestUser alice = register("alice");
+        TestUser bob = register("bob");
+        String conv = json(mockMvc.perform(post("/api/chat/start/" + bob.id()).header("Authorization", alice.bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("id").asText();
+        mockMvc.perform(post("/api/chat/" + conv + "/send").header("Authorization", bob.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"still buffered\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/chat/" + conv + "/messages/history").header("Authorization", alice.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].messageText").value("still buffered"));
+        mockMvc.perform(put("/api/chat/" + conv + "/read").header("Authorization", alice.bearer()))
+                .andExpect(status().isNoContent());
+
+        messageWriteBehind.flush();
+
+        mockMvc.perform(get("/api/chat/" + conv + "/unread").header("Authorization", alice.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        mockMvc.perform(get("/api/chat/" + conv + "/messages/history").header("Authorization", alice.bearer()))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].isRead").value(true));
+    }
+}
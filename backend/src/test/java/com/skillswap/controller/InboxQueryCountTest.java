@@ -0,0 +1,54 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The conversation list is one projection query however many conversations the user has
+class InboxQueryCountTest extends IntegrationTestSupport {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void inboxStatementCountDoesNotGrowWithConversations() throws Exception {
+        TestUser me = register("inbox");
+        startConversationWith(me);
+        long one = inboxStatements(me, 1);
+
+        for (int i = 0; i < 4; i++) startConversationWith(me);
+        long five = inboxStatements(me, 5);
+
+        assertEquals(one, five);
+    }
+
+    private void startConversationWith(TestUser me) throws Exception {
+        TestUser other = register("other");
+        String conv = json(mockMvc.perform(post("/api/chat/start/" + other.id()).header("Authorization", me.bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("id").asText();
+        mockMvc.perform(post("/api/chat/" + conv + "/send").header("Authorization", other.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"hello\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private long inboxStatements(TestUser me, int expectedConversations) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/chat/conversations").header("Authorization", me.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedConversations))
+                .andExpect(jsonPath("$[0].otherUserName").value("other"));
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,53 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import com.skillswap.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Points far above anything other tests award, so these users own the top of the shared board
+class LeaderboardTest extends IntegrationTestSupport {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void addPointsMovesUsersOnTheBoardAndTheirRank() throws Exception {
+        TestUser first = register("first");
+        TestUser second = register("second");
+        mockMvc.perform(get("/api/leaderboard").header("Authorization", first.bearer())).andExpect(status().isOk());
+
+        userService.addPoints(first.id(), 1_000_000);
+        top(first, first, 1_000_000);
+        rank(first, 1);
+
+        userService.addPoints(second.id(), 1_000_500);
+        top(first, second, 1_000_500);
+        mockMvc.perform(get("/api/leaderboard").header("Authorization", first.bearer()))
+                .andExpect(jsonPath("$[1].id").value(first.id().toString()));
+        rank(second, 1);
+        rank(first, 2);
+
+        userService.addPoints(first.id(), 1_000);
+        top(second, first, 1_001_000);
+        rank(second, 2);
+    }
+
+    private void top(TestUser viewer, TestUser expected, int points) throws Exception {
+        mockMvc.perform(get("/api/leaderboard").header("Authorization", viewer.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(expected.id().toString()))
+                .andExpect(jsonPath("$[0].points").value(points))
+                .andExpect(jsonPath("$[0].level").value("Expert"));
+    }
+
+    private void rank(TestUser user, int expected) throws Exception {
+        mockMvc.perform(get("/api/leaderboard/me").header("Authorization", user.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(expected));
+    }
+}
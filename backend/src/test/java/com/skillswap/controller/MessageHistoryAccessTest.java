@@ -0,0 +1,51 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MessageHistoryAccessTest extends IntegrationTestSupport {
+
+    @Test
+    void outsiderCannotReadConversation() throws Exception {
+        TestUser alice = register("alice");
+        TestUser bob = register("bob");
+        TestUser mallory = register("mallory");
+        String conv = json(mockMvc.perform(post("/api/chat/start/" + bob.id()).header("Authorization", alice.bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("id").asText();
+        mockMvc.perform(post("/api/chat/" + conv + "/send").header("Authorization", bob.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"private\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/chat/" + conv + "/messages/history").header("Authorization", alice.bearer()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/chat/" + conv + "/messages/history").header("Authorization", mallory.bearer()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/chat/" + conv + "/messages").header("Authorization", mallory.bearer()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void outsiderCannotReadGroupHistory() throws Exception {
+        TestUser owner = register("owner");
+        TestUser mallory = register("mallory");
+        String group = json(mockMvc.perform(post("/api/groups").header("Authorization", owner.bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Private study\",\"isPrivate\":true}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("id").asText();
+        mockMvc.perform(post("/api/groups/" + group + "/messages").header("Authorization", owner.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"members only\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/groups/" + group + "/messages/history").header("Authorization", owner.bearer()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/groups/" + group + "/messages/history").header("Authorization", mallory.bearer()))
+                .andExpect(status().isForbidden());
+    }
+}
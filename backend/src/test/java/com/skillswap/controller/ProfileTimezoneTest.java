@@ -0,0 +1,27 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProfileTimezoneTest extends IntegrationTestSupport {
+
+    @Test
+    void unknownTimezoneIsRejectedBeforeAnythingChanges() throws Exception {
+        TestUser me = register("zone");
+        mockMvc.perform(put("/api/users/me").header("Authorization", me.bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skillsOffered\":[\"Zither tuning\"],\"timezone\":\"Mars/Olympus_Mons\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/" + me.id()).header("Authorization", me.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skillsOffered.length()").value(0))
+                .andExpect(jsonPath("$.timezone").value("UTC"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillswap.controller;
+
+import com.skillswap.IntegrationTestSupport;
+import com.skillswap.repository.ConversationRepository;
+import com.skillswap.repository.MessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UnreadCounterTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Test
+    void messageSentWhileMarkingReadStaysUnread() throws Exception {
+        TestUser alice = register("alice");
+        TestUser bob = register("bob");
+        String conv = start(alice, bob);
+        send(conv, bob, "first");
+        // markRead picks its watermark, then a send commits before the watermark is written
+        LocalDateTime readUpTo = messageRepository.findLatestCreatedAt(UUID.fromString(conv));
+        Thread.sleep(5);
+        send(conv, bob, "second");
+
+        conversationRepository.markRead(UUID.fromString(conv), alice.id(), readUpTo);
+
+        unread(conv, alice, "1");
+    }
+
+    @Test
+    void concurrentSendsFromBothSidesAreAllCounted() throws Exception {
+        TestUser alice = register("alice");
+        TestUser bob = register("bob");
+        String conv = start(alice, bob);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                TestUser from = i % 4 == 0 ? alice : bob;
+                String text = "m" + i;
+                sends.add(pool.submit(() -> {
+                    send(conv, from, text);
+                    return null;
+                }));
+            }
+            for (Future<?> f : sends) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        unread(conv, alice, "30");
+        unread(conv, bob, "10");
+        mockMvc.perform(put("/api/chat/" + conv + "/read").header("Authorization", alice.bearer()))
+                .andExpect(status().is2xxSuccessful());
+        unread(conv, alice, "0");
+        unread(conv, bob, "10");
+    }
+
+    private String start(TestUser from, TestUser to) throws Exception {
+        return json(mockMvc.perform(post("/api/chat/start/" + to.id()).header("Authorization", from.bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("id").asText();
+    }
+
+    private void send(String conv, TestUser from, String text) throws Exception {
+        mockMvc.perform(post("/api/chat/" + conv + "/send").header("Authorization", from.bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"" + text + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private void unread(String conv, TestUser me, String expected) throws Exception {
+        mockMvc.perform(get("/api/chat/" + conv + "/unread").header("Authorization", me.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expected));
+    }
+}
@@ -0,0 +1,22 @@
+package com.skillswap.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AuthenticatedUserTest {
+
+    @Test
+    void passwordHashStaysOutOfToStringAndEquality() {
+        UUID id = UUID.randomUUID();
+        AuthenticatedUser fromLogin = new AuthenticatedUser(id, "a@test.io", "$2a$10$secrethash");
+        AuthenticatedUser fromToken = new AuthenticatedUser(id, "a@test.io", null);
+
+        assertFalse(fromLogin.toString().contains("secrethash"));
+        assertEquals(fromLogin, fromToken);
+        assertEquals(fromLogin.hashCode(), fromToken.hashCode());
+    }
+}
@@ -0,0 +1,78 @@
+package com.skillswap.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "a-test-secret-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxEntries", 100);
+        jwtUtil.init();
+    }
+
+    @Test
+    void repeatedTokenIsServedFromTheCache() {
+        String token = jwtUtil.generateToken("a@test.io", userId, 2);
+
+        VerifiedToken first = jwtUtil.verify(token);
+        assertNotNull(first);
+        assertEquals(userId, first.userId());
+        assertEquals(2, first.version());
+        assertSame(first, jwtUtil.verify(token));
+    }
+
+    @Test
+    void tamperedAndExpiredTokensAreRefused() {
+        String token = jwtUtil.generateToken("a@test.io", userId, 0);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertNull(jwtUtil.verify(tampered));
+
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1_000L);
+        String expired = jwtUtil.generateToken("a@test.io", userId, 0);
+        assertNull(jwtUtil.verify(expired));
+        assertNull(jwtUtil.verify(expired));
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        for (int i = 0; i < 250; i++) assertNotNull(jwtUtil.verify(jwtUtil.generateToken(i + "@test.io", userId, i)));
+
+        Object verified = ReflectionTestUtils.getField(jwtUtil, "verified");
+        assertTrue(((Map<?, ?>) verified).size() <= 100);
+    }
+
+    @Test
+    void cachedVerificationIsCheaperThanParsing() {
+        // Coarse relative check rather than a benchmark: the same number of verifications, hits versus misses
+        int n = 2_000;
+        String[] distinct = new String[n];
+        for (int i = 0; i < n; i++) distinct[i] = jwtUtil.generateToken(i + "@test.io", userId, i);
+        String repeated = jwtUtil.generateToken("a@test.io", userId, 0);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxEntries", 10 * n);
+
+        long parsing = System.nanoTime();
+        for (String token : distinct) jwtUtil.verify(token);
+        parsing = System.nanoTime() - parsing;
+        long cached = System.nanoTime();
+        for (int i = 0; i < n; i++) jwtUtil.verify(repeated);
+        cached = System.nanoTime() - cached;
+
+        assertTrue(cached < parsing, "cached " + cached + "ns vs parsing " + parsing + "ns");
+    }
+}
@@ -0,0 +1,39 @@
+package com.skillswap.security;
+
+import com.skillswap.IntegrationTestSupport;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LegacyTokenRevocationTest extends IntegrationTestSupport {
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void logoutRevokesTokensWithoutUidClaim() throws Exception {
+        TestUser user = register("legacy");
+        // The shape of tokens issued before the uid/ver claims existed
+        String legacy = Jwts.builder()
+                .subject(user.email())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + legacy))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", user.bearer()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + legacy))
+                .andExpect(status().isForbidden());
+    }
+}
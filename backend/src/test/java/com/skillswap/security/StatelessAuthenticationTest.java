@@ -0,0 +1,80 @@
+package com.skillswap.security;
+
+import com.skillswap.entity.User;
+import com.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Requests authenticate from the token's claims; the only database read is the cached token version
+class StatelessAuthenticationTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final TokenVersionService tokenVersionService = new TokenVersionService();
+    private final CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "a-test-secret-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxEntries", 100);
+        jwtUtil.init();
+        ReflectionTestUtils.setField(tokenVersionService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(tokenVersionService, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(tokenVersionService, "maxEntries", 100);
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(userDetailsService, "tokenVersionService", tokenVersionService);
+        ReflectionTestUtils.setField(userDetailsService, "stateless", true);
+
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("a@test.io");
+        user.setPassword("hash");
+        when(userRepository.findByEmail("a@test.io")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void statelessModeReadsOnlyTheCachedVersion() {
+        when(userRepository.findTokenVersion(userId)).thenReturn(Optional.of(3));
+        String token = jwtUtil.generateToken("a@test.io", userId, 3);
+
+        for (int i = 0; i < 1000; i++) {
+            AuthenticatedUser principal = (AuthenticatedUser) userDetailsService.loadUserByToken(token);
+            assertEquals(userId, principal.id());
+        }
+        verify(userRepository, times(1)).findTokenVersion(userId);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void statefulModeLoadsTheUserOnEveryRequest() {
+        ReflectionTestUtils.setField(userDetailsService, "stateless", false);
+        when(userRepository.findTokenVersion(userId)).thenReturn(Optional.of(0));
+        String token = jwtUtil.generateToken("a@test.io", userId, 0);
+
+        for (int i = 0; i < 10; i++) userDetailsService.loadUserByToken(token);
+        verify(userRepository, times(10)).findByEmail("a@test.io");
+    }
+
+    @Test
+    void tokenWithAnOldVersionIsRefused() {
+        when(userRepository.findTokenVersion(userId)).thenReturn(Optional.of(4));
+
+        assertNull(userDetailsService.loadUserByToken(jwtUtil.generateToken("a@test.io", userId, 3)));
+    }
+}
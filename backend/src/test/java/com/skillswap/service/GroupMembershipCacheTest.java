@@ -0,0 +1,54 @@
+package com.skillswap.service;
+
+import com.skillswap.repository.GroupMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupMembershipCacheTest {
+
+    private final UUID group = UUID.randomUUID();
+    private final GroupMemberRepository repository = mock(GroupMemberRepository.class);
+    private final GroupMembershipCache cache = new GroupMembershipCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "groupMemberRepository", repository);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void decisionIsCachedUntilInvalidated() {
+        when(repository.existsByGroupIdAndUserEmail(group, "a@test.io")).thenReturn(true, false);
+
+        assertTrue(cache.isMember(group, "a@test.io"));
+        assertTrue(cache.isMember(group, "a@test.io"));
+        cache.invalidate(group);
+        assertFalse(cache.isMember(group, "a@test.io"));
+        verify(repository, times(2)).existsByGroupIdAndUserEmail(group, "a@test.io");
+    }
+
+    @Test
+    void invalidateDuringLookupDiscardsTheStaleDecision() {
+        // The member leaves while the first lookup is still reading the old membership
+        when(repository.existsByGroupIdAndUserEmail(group, "a@test.io"))
+                .thenAnswer(inv -> {
+                    cache.invalidate(group);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertTrue(cache.isMember(group, "a@test.io"));
+        assertFalse(cache.isMember(group, "a@test.io"));
+    }
+}
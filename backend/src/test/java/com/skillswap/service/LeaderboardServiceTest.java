@@ -0,0 +1,80 @@
+package com.skillswap.service;
+
+import com.skillswap.dto.LeaderboardItemDTO;
+import com.skillswap.entity.User;
+import com.skillswap.repository.UserRepository;
+import com.skillswap.repository.UserSkillsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The board is read from the database once; registrations and point changes are applied in memory
+class LeaderboardServiceTest {
+
+    private final UUID a = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private final UUID b = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private final UUID c = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSkillsRepository userSkillsRepository = mock(UserSkillsRepository.class);
+    private final LeaderboardService leaderboard = new LeaderboardService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaderboard, "userRepository", userRepository);
+        ReflectionTestUtils.setField(leaderboard, "userSkillsRepository", userSkillsRepository);
+        ReflectionTestUtils.setField(leaderboard, "size", 2);
+        when(userRepository.findLeaderboardRows(any())).thenReturn(List.<Object[]>of(
+                new Object[]{a, "a", null, 10, "Beginner", null, null}));
+        when(userRepository.findPositivePoints()).thenReturn(List.<Object[]>of(new Object[]{a, 10}));
+        when(userSkillsRepository.findByUserId(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void registeredUserFillsFreePlace() {
+        leaderboard.top();
+        leaderboard.userAdded(user(b, 0));
+
+        assertEquals(List.of(a, b), ids(leaderboard.top()));
+        verify(userRepository, times(1)).findLeaderboardRows(any());
+    }
+
+    @Test
+    void droppedUserIsReplacedByBestUserOutsideTheBoard() {
+        leaderboard.top();
+        leaderboard.userAdded(user(b, 0));
+        leaderboard.pointsChanged(user(c, 5));
+        leaderboard.pointsChanged(user(b, 4));
+        assertEquals(List.of(a, c), ids(leaderboard.top()));
+
+        when(userRepository.findById(b)).thenReturn(Optional.of(user(b, 4)));
+        leaderboard.pointsChanged(user(a, 2));
+
+        assertEquals(List.of(c, b), ids(leaderboard.top()));
+        assertEquals(3, leaderboard.rank(a));
+        verify(userRepository, times(1)).findLeaderboardRows(any());
+    }
+
+    private static User user(UUID id, int points) {
+        User u = new User();
+        u.setId(id);
+        u.setName(id.toString());
+        u.setPoints(points);
+        return u;
+    }
+
+    private static List<UUID> ids(List<LeaderboardItemDTO> items) {
+        return items.stream().map(LeaderboardItemDTO::id).toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.skillswap.service;
+
+import com.skillswap.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SkillDictionaryTest extends IntegrationTestSupport {
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Test
+    void spellingsAndSeededSynonymsShareOneId() {
+        Integer javascript = skillDictionary.intern("JavaScript");
+
+        assertEquals(javascript, skillDictionary.intern("javascript"));
+        assertEquals(javascript, skillDictionary.intern(" Java Script "));
+        assertEquals(javascript, skillDictionary.intern("java_script"));
+        assertEquals(javascript, skillDictionary.intern("JS"));
+        assertEquals(javascript, skillDictionary.intern("ECMAScript"));
+        assertEquals(List.of(javascript), skillDictionary.internAll(List.of("JS", "javascript", "Java-Script")));
+        assertEquals("JavaScript", skillDictionary.name(javascript));
+        assertNotEquals(javascript, skillDictionary.intern("Java"));
+    }
+
+    @Test
+    void skillCreatedBeforeItsSynonymFoldsIntoTheTarget() {
+        Integer early = skillDictionary.intern("Zig Lang");
+        skillDictionary.addSynonyms(Map.of("Zig Lang", "Zig"));
+
+        Integer zig = skillDictionary.intern("Zig");
+        assertEquals(zig, skillDictionary.intern("ziglang"));
+        assertEquals(List.of(zig), skillDictionary.canonicalAll(List.of(early, zig)));
+    }
+
+    @Test
+    void fuzzyMatchingRecordsTypoAsSynonym() {
+        Integer kotlin = skillDictionary.intern("Kotlin Multiplatform");
+        ReflectionTestUtils.setField(skillDictionary, "fuzzyMinSimilarity", 0.6);
+        try {
+            assertEquals(kotlin, skillDictionary.intern("Kotlin Multiplatfrom"));
+        } finally {
+            ReflectionTestUtils.setField(skillDictionary, "fuzzyMinSimilarity", 0.0);
+        }
+        // Remembered as a synonym, so it resolves with fuzzy matching off
+        assertEquals(kotlin, skillDictionary.find("kotlin multiplatfrom"));
+    }
+}
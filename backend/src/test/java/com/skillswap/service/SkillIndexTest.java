@@ -0,0 +1,85 @@
+package com.skillswap.service;
+
+import com.skillswap.repository.UserSkillsRepository;
+import com.skillswap.service.matching.BitsetMatchScorer;
+import com.skillswap.service.matching.MatchScorer;
+import com.skillswap.service.matching.SkillProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillIndexTest {
+
+    private final UUID user = UUID.randomUUID();
+    private final UserSkillsRepository repository = mock(UserSkillsRepository.class);
+    private final SkillDictionary dictionary = mock(SkillDictionary.class);
+    private final SkillIndex index = new SkillIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "userSkillsRepository", repository);
+        ReflectionTestUtils.setField(index, "skillDictionary", dictionary);
+        when(dictionary.canonicalAll(any())).thenAnswer(inv -> List.copyOf(inv.<List<Integer>>getArgument(0)));
+    }
+
+    @Test
+    void statsWrittenDuringSkillUpdatesAreNotLost() throws Exception {
+        index.update(user, List.of(1), List.of(2));
+        // Skill edits keep removing and re-putting the profile while ratings land
+        Thread skills = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) index.update(user, List.of(i % 7), List.of(2));
+        });
+        skills.start();
+        for (int i = 1; i <= 20_000; i++) {
+            index.updateStats(user, 4.5, i);
+            index.updateLevel(user, "L" + i);
+        }
+        skills.join();
+
+        assertEquals(20_000, index.profileOf(user).completedSessions());
+        assertEquals("L20000", index.profileOf(user).level());
+        assertEquals(4.5, index.profileOf(user).rating());
+    }
+
+    @Test
+    void candidatesAreExactlyTheUsersWithOverlappingSkills() {
+        // Brute force over every user is what the index replaced
+        Random random = new Random(7);
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UUID id = UUID.randomUUID();
+            users.add(id);
+            index.update(id, skills(random), skills(random));
+        }
+        for (int i = 0; i < 100; i++) index.update(users.get(random.nextInt(users.size())), skills(random), skills(random));
+
+        MatchScorer scorer = new BitsetMatchScorer();
+        for (UUID me : users) {
+            SkillProfile mine = index.profileOf(me);
+            Set<UUID> expected = new HashSet<>();
+            for (UUID other : users) {
+                if (!other.equals(me) && scorer.overlap(mine, index.profileOf(other)) > 0) expected.add(other);
+            }
+            assertEquals(expected, index.candidatesFor(me, mine));
+        }
+    }
+
+    private static List<Integer> skills(Random random) {
+        Set<Integer> ids = new HashSet<>();
+        int n = random.nextInt(5);
+        while (ids.size() < n) ids.add(random.nextInt(60));
+        return new ArrayList<>(ids);
+    }
+}
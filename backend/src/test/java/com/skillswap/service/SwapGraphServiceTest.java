@@ -0,0 +1,72 @@
+package com.skillswap.service;
+
+import com.skillswap.IntegrationTestSupport;
+import com.skillswap.entity.SwapCycle;
+import com.skillswap.entity.SwapGraphRun;
+import com.skillswap.repository.SwapCycleRepository;
+import com.skillswap.repository.SwapGraphLockRepository;
+import com.skillswap.repository.SwapGraphRunRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwapGraphServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private SwapGraphService swapGraphService;
+
+    @Autowired
+    private SwapCycleRepository swapCycleRepository;
+
+    @Autowired
+    private SwapGraphRunRepository swapGraphRunRepository;
+
+    @Autowired
+    private SwapGraphLockRepository swapGraphLockRepository;
+
+    @Test
+    void runIsSkippedWhileAnotherInstanceHoldsTheLease() {
+        swapGraphService.rebuild();
+        Long before = swapGraphRunRepository.findLatestGeneration();
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, swapGraphLockRepository.claim("other-node", now, now.plusMinutes(5)));
+        try {
+            swapGraphService.rebuild();
+            assertEquals(before, swapGraphRunRepository.findLatestGeneration());
+        } finally {
+            swapGraphLockRepository.release("other-node");
+        }
+        swapGraphService.rebuild();
+        assertTrue(swapGraphRunRepository.findLatestGeneration() > before);
+    }
+
+    @Test
+    void cleanupKeepsThePreviousRunAndNewerGenerations() {
+        // Runs from other tests would count as the previous run
+        swapGraphRunRepository.deleteAll();
+        long now = System.currentTimeMillis();
+        long older = now - 50_000, previous = now - 20_000, inProgress = now + 1_000_000_000L;
+        swapGraphRunRepository.save(new SwapGraphRun(older, LocalDateTime.now()));
+        swapGraphRunRepository.save(new SwapGraphRun(previous, LocalDateTime.now()));
+        for (long g : new long[]{older, previous, inProgress}) {
+            swapCycleRepository.save(new SwapCycle(null, g, UUID.randomUUID(), UUID.randomUUID(), null));
+        }
+
+        swapGraphService.rebuild();
+
+        long latest = swapGraphRunRepository.findLatestGeneration();
+        Set<Long> generations = swapCycleRepository.findAll().stream().map(SwapCycle::getGeneration).collect(Collectors.toSet());
+        assertTrue(latest > previous && latest < inProgress);
+        assertTrue(generations.contains(previous));
+        assertTrue(generations.contains(inProgress));
+        assertTrue(generations.stream().noneMatch(g -> g < previous));
+        swapCycleRepository.deleteOlderGenerations(inProgress + 1, latest);
+    }
+}
@@ -0,0 +1,48 @@
+package com.skillswap.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TypingAggregatorTest {
+
+    private final UUID group = UUID.randomUUID();
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final TypingAggregator aggregator = new TypingAggregator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aggregator, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(aggregator, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "expireMs", 50L);
+        aggregator.init();
+    }
+
+    @Test
+    void expiryBroadcastsTheShrunkenSet() throws Exception {
+        String topic = "/topic/group/" + group + "/typing";
+        aggregator.typing(group, "alice");
+        aggregator.flush();
+        verify(messagingTemplate).convertAndSend(topic, Map.of("user", "alice", "users", List.of("alice")));
+
+        Thread.sleep(100);
+        aggregator.flush();
+        verify(messagingTemplate).convertAndSend(topic, Map.of("users", List.of()));
+
+        // Nothing left to report
+        aggregator.flush();
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.skillswap.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The bitset scorer must rank exactly like the list-based reference, and do it faster
+class MatchScorerTest {
+
+    private final MatchScorer bitset = new BitsetMatchScorer();
+    private final MatchScorer stream = new StreamMatchScorer();
+
+    @Test
+    void bitsetAndStreamScorersAgree() {
+        List<SkillProfile> profiles = profiles(400, 300, 12, 1);
+        for (SkillProfile mine : profiles) {
+            for (SkillProfile theirs : profiles) {
+                assertEquals(stream.overlap(mine, theirs), bitset.overlap(mine, theirs));
+                assertEquals(stream.score(mine, theirs), bitset.score(mine, theirs));
+            }
+        }
+    }
+
+    @Test
+    void bitsetScorerOutrunsStreamScorer() {
+        // Coarse relative check rather than a benchmark: best of several passes, same inputs for both
+        List<SkillProfile> profiles = profiles(600, 500, 20, 2);
+        long bitsetNanos = Long.MAX_VALUE, streamNanos = Long.MAX_VALUE;
+        for (int pass = 0; pass < 5; pass++) {
+            bitsetNanos = Math.min(bitsetNanos, time(bitset, profiles));
+            streamNanos = Math.min(streamNanos, time(stream, profiles));
+        }
+        assertTrue(bitsetNanos < streamNanos, "bitset " + bitsetNanos + "ns vs stream " + streamNanos + "ns");
+    }
+
+    private static long time(MatchScorer scorer, List<SkillProfile> profiles) {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (SkillProfile mine : profiles) {
+            for (SkillProfile theirs : profiles) sink += scorer.score(mine, theirs);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink >= 0);
+        return elapsed;
+    }
+
+    private static List<SkillProfile> profiles(int count, int skills, int perUser, long seed) {
+        Random random = new Random(seed);
+        List<SkillProfile> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            out.add(SkillProfile.of(skillIds(random, skills, perUser), skillIds(random, skills, perUser),
+                    random.nextInt(51) / 10.0, random.nextInt(10), "Beginner", new long[WeeklyAvailability.WORDS]));
+        }
+        return out;
+    }
+
+    private static List<Integer> skillIds(Random random, int skills, int max) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        int n = random.nextInt(max + 1);
+        while (ids.size() < n) ids.add(random.nextInt(skills));
+        return new ArrayList<>(ids);
+    }
+}
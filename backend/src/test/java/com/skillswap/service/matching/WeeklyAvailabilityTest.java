@@ -0,0 +1,57 @@
+package com.skillswap.service.matching;
+
+import com.skillswap.dto.AvailabilitySlotDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WeeklyAvailabilityTest {
+
+    @Test
+    void overnightSlotContinuesIntoNextDay() {
+        long[] bits = WeeklyAvailability.fromSlots(
+                List.of(new AvailabilitySlotDTO(DayOfWeek.FRIDAY, LocalTime.of(22, 0), LocalTime.of(2, 0))), ZoneOffset.UTC);
+
+        assertEquals(List.of(
+                new AvailabilitySlotDTO(DayOfWeek.FRIDAY, LocalTime.of(22, 0), LocalTime.MIDNIGHT),
+                new AvailabilitySlotDTO(DayOfWeek.SATURDAY, LocalTime.MIDNIGHT, LocalTime.of(2, 0))
+        ), WeeklyAvailability.toSlots(bits, ZoneOffset.UTC));
+    }
+
+    @Test
+    void sundayNightWrapsToMonday() {
+        long[] bits = WeeklyAvailability.fromSlots(
+                List.of(new AvailabilitySlotDTO(DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.of(1, 0))), ZoneOffset.UTC);
+
+        assertEquals(List.of(
+                new AvailabilitySlotDTO(DayOfWeek.MONDAY, LocalTime.MIDNIGHT, LocalTime.of(1, 0)),
+                new AvailabilitySlotDTO(DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.MIDNIGHT)
+        ), WeeklyAvailability.toSlots(bits, ZoneOffset.UTC));
+    }
+
+    @Test
+    void slotEndingAtMidnightStaysOnItsDay() {
+        long[] bits = WeeklyAvailability.fromSlots(
+                List.of(new AvailabilitySlotDTO(DayOfWeek.MONDAY, LocalTime.of(20, 0), LocalTime.MIDNIGHT)), ZoneOffset.UTC);
+
+        assertEquals(4, WeeklyAvailability.overlapHours(bits, bits));
+    }
+
+    @Test
+    void timezoneChangeKeepsLocalHours() {
+        // What the profile update does when only the timezone changes: read local slots back, re-anchor them
+        ZoneId newYork = ZoneId.of("America/New_York"), tokyo = ZoneId.of("Asia/Tokyo");
+        List<AvailabilitySlotDTO> local = List.of(new AvailabilitySlotDTO(DayOfWeek.MONDAY, LocalTime.of(1, 0), LocalTime.of(3, 0)));
+        long[] before = WeeklyAvailability.fromSlots(local, newYork);
+        long[] after = WeeklyAvailability.fromSlots(WeeklyAvailability.toSlots(before, newYork), tokyo);
+
+        assertEquals(local, WeeklyAvailability.toSlots(after, tokyo));
+        assertEquals(0, WeeklyAvailability.overlapHours(before, after));
+    }
+}
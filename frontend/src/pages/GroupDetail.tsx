@@ -19,7 +19,7 @@ export default function GroupDetail() {
   const [messages, setMessages] = useState<any[]>([]);
   const [members, setMembers] = useState<any[]>([]);
   const [text, setText] = useState("");
-  const [typing, setTyping] = useState<string | null>(null);
+  const [typing, setTyping] = useState<string[]>([]);
   const typingTimer = useRef<number | null>(null);
   const listRef = useRef<HTMLDivElement>(null);
   const seenIds = useRef<Set<string>>(new Set());
@@ -106,9 +106,12 @@ export default function GroupDetail() {
         }
       },
       (p) => {
-        setTyping(p?.user || "Someone");
+        // The server sends the whole set of typists, and an empty list once the last one stops
+        const users: string[] = Array.isArray(p?.users) ? p.users : p?.user ? [p.user] : [];
         if (typingTimer.current) window.clearTimeout(typingTimer.current);
-        typingTimer.current = window.setTimeout(() => setTyping(null), 1500);
+        setTyping(users);
+        // Fallback in case the clearing update is missed (e.g. a reconnect)
+        if (users.length > 0) typingTimer.current = window.setTimeout(() => setTyping([]), 5000);
       }
     );
     return () => {
@@ -253,9 +256,11 @@ export default function GroupDetail() {
                     </div>
                   </div>
                 ))}
-                {typing && (
+                {typing.length > 0 && (
                   <div className="text-xs text-gray-500 dark:text-gray-400">
-                    {typing} is typing...
+                    {typing.length === 1
+                      ? `${typing[0]} is typing...`
+                      : `${typing.slice(0, -1).join(", ")} and ${typing[typing.length - 1]} are typing...`}
                   </div>
                 )}
               </div>
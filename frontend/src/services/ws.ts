@@ -94,7 +94,8 @@ export function connectUserQueue(userId: string, token: string, onMessage: (payl
     connectHeaders: { Authorization: `Bearer ${token}` },
   });
   userClient.onConnect = () => {
-    userSubs = userClient!.subscribe(`/queue/user/${userId}`, (message: IMessage) => {
+    // A topic, so every open tab and device gets each direct message (queues are point-to-point on a relay broker)
+    userSubs = userClient!.subscribe(`/topic/user.${userId}`, (message: IMessage) => {
       try { onMessage(JSON.parse(message.body)); } catch {}
     });
   };